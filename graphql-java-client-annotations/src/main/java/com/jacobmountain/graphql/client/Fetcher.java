@@ -8,4 +8,20 @@ public interface Fetcher<Q, M, Error> {
 
     <A> Response<M, Error> mutate(String mutation, A args);
 
+    /**
+     * Called by clients generated with persistedQueries, along with the SHA-256 hash of the query, see
+     * PersistedQueryFetcher. Sends the query in full by default
+     */
+    default <A> Response<Q, Error> query(String query, String hash, A args) {
+        return query(query, args);
+    }
+
+    /**
+     * Called by clients generated with persistedQueries, along with the SHA-256 hash of the mutation, see
+     * PersistedQueryFetcher. Sends the mutation in full by default
+     */
+    default <A> Response<M, Error> mutate(String mutation, String hash, A args) {
+        return mutate(mutation, args);
+    }
+
 }
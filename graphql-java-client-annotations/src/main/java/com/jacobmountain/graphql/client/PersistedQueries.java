@@ -0,0 +1,62 @@
+package com.jacobmountain.graphql.client;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The parts of the Automatic Persisted Queries protocol shared by the processor and the fetchers, see
+ * https://github.com/apollographql/apollo-link-persisted-queries#protocol
+ */
+public final class PersistedQueries {
+
+    /**
+     * The message of the error answered to a hash the server hasn't stored yet
+     */
+    public static final String NOT_FOUND = "PersistedQueryNotFound";
+
+    /**
+     * The message of the error answered by servers that don't persist queries at all
+     */
+    public static final String NOT_SUPPORTED = "PersistedQueryNotSupported";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private PersistedQueries() {
+    }
+
+    /**
+     * @return the SHA-256 hash of the query, in lower case hex
+     */
+    public static String hash(String query) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+        byte[] bytes = digest.digest(query.getBytes(StandardCharsets.UTF_8));
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = HEX[(bytes[i] >> 4) & 0xf];
+            hex[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * @return the extensions of a request identifying the query by its hash,
+     * { "persistedQuery": { "version": 1, "sha256Hash": hash } }
+     */
+    public static Map<String, Object> extensions(String hash) {
+        Map<String, Object> persistedQuery = new LinkedHashMap<>();
+        persistedQuery.put("version", 1);
+        persistedQuery.put("sha256Hash", hash);
+        return Collections.singletonMap("persistedQuery", persistedQuery);
+    }
+
+}
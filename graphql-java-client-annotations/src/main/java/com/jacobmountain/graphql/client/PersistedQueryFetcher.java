@@ -0,0 +1,91 @@
+package com.jacobmountain.graphql.client;
+
+import com.jacobmountain.graphql.client.dto.Request;
+import com.jacobmountain.graphql.client.dto.Response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A Fetcher speaking the Automatic Persisted Queries protocol. Requests only send the hash of their query, and are only
+ * sent again with the query in full when the server answers PersistedQueryNotFound, after which the server knows the
+ * query by its hash. Servers answering PersistedQueryNotSupported are sent every query in full from then on.
+ * <p>
+ * Clients generated with persistedQueries pass the hash of each query, computed at compile time, otherwise the hash
+ * is computed for every request. Subclasses send the requests, e.g. over HTTP, and should leave out the query when it
+ * is null.
+ *
+ * @param <Q>     the query type
+ * @param <M>     the mutation type
+ * @param <Error> the error type
+ */
+public abstract class PersistedQueryFetcher<Q, M, Error> implements Fetcher<Q, M, Error> {
+
+    private volatile boolean supported = true;
+
+    /**
+     * Sends a query request
+     *
+     * @param request the query, null when only the hash is sent, the variables, and the extensions holding the hash
+     */
+    protected abstract <A> Response<Q, Error> sendQuery(Request<A> request);
+
+    /**
+     * Sends a mutation request
+     *
+     * @param request the mutation, null when only the hash is sent, the variables, and the extensions holding the hash
+     */
+    protected abstract <A> Response<M, Error> sendMutation(Request<A> request);
+
+    @Override
+    public <A> Response<Q, Error> query(String query, A args) {
+        return query(query, PersistedQueries.hash(query), args);
+    }
+
+    @Override
+    public <A> Response<Q, Error> query(String query, String hash, A args) {
+        return fetch(query, hash, args, this::sendQuery);
+    }
+
+    @Override
+    public <A> Response<M, Error> mutate(String mutation, A args) {
+        return mutate(mutation, PersistedQueries.hash(mutation), args);
+    }
+
+    @Override
+    public <A> Response<M, Error> mutate(String mutation, String hash, A args) {
+        return fetch(mutation, hash, args, this::sendMutation);
+    }
+
+    private <T, A> Response<T, Error> fetch(String query, String hash, A args, Function<Request<A>, Response<T, Error>> send) {
+        Map<String, Object> extensions = PersistedQueries.extensions(hash);
+        if (!supported) {
+            return send.apply(new Request<>(query, args, extensions));
+        }
+        Response<T, Error> response = send.apply(new Request<>(null, args, extensions));
+        if (hasError(response, PersistedQueries.NOT_SUPPORTED)) {
+            supported = false;
+        } else if (!hasError(response, PersistedQueries.NOT_FOUND)) {
+            return response;
+        }
+        return send.apply(new Request<>(query, args, extensions));
+    }
+
+    private boolean hasError(Response<?, Error> response, String message) {
+        List<Error> errors = response == null ? null : response.getErrors();
+        return errors != null && errors.stream().anyMatch(error -> isError(error, message));
+    }
+
+    /**
+     * Whether an error is the PersistedQueryNotFound or PersistedQueryNotSupported error of the protocol, by default
+     * whether the error mentions the message, override when the Error type doesn't describe itself in its toString
+     *
+     * @param error   an error of the response
+     * @param message PersistedQueries.NOT_FOUND or PersistedQueries.NOT_SUPPORTED
+     */
+    protected boolean isError(Error error, String message) {
+        return error != null && error.toString().contains(message);
+    }
+
+}
@@ -9,4 +9,20 @@ public interface ReactiveFetcher<Q, M, Error> {
 
     <A> Publisher<Response<M, Error>> mutate(String mutation, A args);
 
+    /**
+     * Called by clients generated with persistedQueries, along with the SHA-256 hash of the query. Sends the query in
+     * full by default
+     */
+    default <A> Publisher<Response<Q, Error>> query(String query, String hash, A args) {
+        return query(query, args);
+    }
+
+    /**
+     * Called by clients generated with persistedQueries, along with the SHA-256 hash of the mutation. Sends the
+     * mutation in full by default
+     */
+    default <A> Publisher<Response<M, Error>> mutate(String mutation, String hash, A args) {
+        return mutate(mutation, args);
+    }
+
 }
@@ -6,7 +6,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Target(ElementType.TYPE)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface GraphQLClient {
 
     String schema();
@@ -21,6 +21,23 @@ public @interface GraphQLClient {
 
     String dtoPackage() default "dto";
 
+    /**
+     * Only generate the DTOs reachable from the methods of the client, with just the fields their queries select
+     */
+    boolean onlyReachableTypes() default false;
+
+    /**
+     * Whether the processor generates the DTOs of the schema, turn off when the DTOs are generated ahead of time (e.g.
+     * by the GenerateDTOs Gradle task) and shared between modules
+     */
+    boolean generateDtos() default true;
+
+    /**
+     * Whether the client passes the SHA-256 hash of each query, computed at compile time, to the fetcher, so a
+     * PersistedQueryFetcher can send the hash in place of the query
+     */
+    boolean persistedQueries() default false;
+
     @interface Scalar {
 
         String from();
@@ -5,9 +5,12 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Target({})
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface GraphQLField {
 
+    /**
+     * The name of a field, or the path to a nested field separated by dots, e.g. friendsConnection.edges.node.id
+     */
     String value();
 
 }
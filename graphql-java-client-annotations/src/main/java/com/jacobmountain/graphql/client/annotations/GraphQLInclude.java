@@ -0,0 +1,21 @@
+package com.jacobmountain.graphql.client.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a boolean parameter to the @include directive of fields of the query, the fields are
+ * only selected when the parameter is true
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.CLASS)
+public @interface GraphQLInclude {
+
+    /**
+     * The paths of the fields, separated by dots, e.g. friendsConnection.edges
+     */
+    String[] value();
+
+}
@@ -6,7 +6,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 @Target(ElementType.METHOD)
-@Retention(RetentionPolicy.SOURCE)
+@Retention(RetentionPolicy.CLASS)
 public @interface GraphQLQuery {
 
     /**
@@ -21,6 +21,26 @@ public @interface GraphQLQuery {
 
     int maxDepth() default 5;
 
+    /**
+     * The maximum estimated cost of the generated query, the number of fields its response can contain with lists
+     * counted at their expected size, 0 for no limit
+     */
+    int maxCost() default 0;
+
+    /**
+     * Selects the fields breadth-first, cheapest first, up to this estimated cost rather than every field up to the
+     * maxDepth, 0 to select every field
+     */
+    int costBudget() default 0;
+
+    /**
+     * The fields to select under the field, every other field is left out, e.g. friends.name
+     */
     GraphQLField[] select() default {};
 
+    /**
+     * The fields to leave out under the field, along with every field under them
+     */
+    GraphQLField[] exclude() default {};
+
 }
@@ -1,17 +1,28 @@
 package com.jacobmountain.graphql.client.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Request<A> {
 
+    // left out of requests of persisted queries, which only send the hash
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String query;
 
     private A variables;
 
-}
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, Object> extensions;
 
+    public Request(String query, A variables) {
+        this(query, variables, null);
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.jacobmountain.graphql.client.benchmarks;
+
+import com.jacobmountain.graphql.client.DTOGenerator;
+import com.jacobmountain.graphql.client.FileWriter;
+import com.jacobmountain.graphql.client.SourceFile;
+import com.jacobmountain.graphql.client.TypeMapper;
+import com.jacobmountain.graphql.client.utils.Schema;
+import com.jacobmountain.graphql.client.utils.WorkerPool;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.annotation.processing.Filer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and rendering the DTOs of a whole schema, the sources are rendered but not written anywhere
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgs = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class DTOGeneratorBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    public int types;
+
+    /**
+     * The number of threads, 0 for the number of available processors
+     */
+    @Param({"1", "0"})
+    public int parallelism;
+
+    private Schema schema;
+
+    private WorkerPool workers;
+
+    @Setup
+    public void setup() {
+        schema = new Schema(SyntheticSchema.of(types).generate());
+        workers = new WorkerPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        workers.close();
+    }
+
+    @Benchmark
+    public void generate(Blackhole blackhole) {
+        new DTOGenerator("com.example.dto", new RenderingFileWriter(blackhole), new TypeMapper("com.example.dto"), workers)
+                .generate(schema.types().values());
+    }
+
+    private static class RenderingFileWriter extends FileWriter {
+
+        private final Blackhole blackhole;
+
+        private RenderingFileWriter(Blackhole blackhole) {
+            super((Filer) null);
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(SourceFile builder) {
+            prepare(builder);
+            blackhole.consume(builder.getSource());
+        }
+
+    }
+
+}
@@ -0,0 +1,126 @@
+package com.jacobmountain.graphql.client.benchmarks;
+
+import com.jacobmountain.graphql.client.GraphQLClientProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * A full run of the annotation processor by an in-process compiler, generating the DTOs and a client with a query
+ * method for each root field. Only annotation processing is run, the generated sources aren't compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class ProcessorBenchmark {
+
+    @Param({"100", "1000", "5000"})
+    public int types;
+
+    @Param({"3"})
+    public int maxDepth;
+
+    @Param({"true", "false"})
+    public boolean schemaSnapshots;
+
+    private Path root;
+
+    private Path source;
+
+    private Path generated;
+
+    private Path classes;
+
+    private JavaCompiler compiler;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The benchmark must be run on a JDK");
+        }
+        SyntheticSchema schema = SyntheticSchema.of(types);
+        // the processor resolves the schema against the parent of the build directory
+        root = Files.createTempDirectory("graphql-java-client-benchmark");
+        classes = Files.createDirectories(root.resolve("build/classes/java/main"));
+        generated = root.resolve("build/generated");
+        Files.write(root.resolve("Schema.gql"), schema.generate().getBytes(StandardCharsets.UTF_8));
+        source = root.resolve("Client.java");
+        Files.write(source, client(schema).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Setup(Level.Invocation)
+    public void clean() throws IOException {
+        delete(generated);
+        Files.createDirectories(generated);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        delete(root);
+    }
+
+    @Benchmark
+    public boolean process() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = Arrays.asList(
+                    "-proc:only",
+                    "-processor", GraphQLClientProcessor.class.getName(),
+                    "-A" + GraphQLClientProcessor.SCHEMA_SNAPSHOTS_OPTION + "=" + schemaSnapshots,
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", classes.toString(),
+                    "-s", generated.toString()
+            );
+            Boolean success = compiler.getTask(null, files, diagnostics, options, null, files.getJavaFileObjects(source.toFile()))
+                    .call();
+            if (!success) {
+                throw new IllegalStateException(diagnostics.getDiagnostics().toString());
+            }
+            return success;
+        }
+    }
+
+    private String client(SyntheticSchema schema) {
+        StringBuilder client = new StringBuilder()
+                .append("package com.example;\n\n")
+                .append("import com.jacobmountain.graphql.client.annotations.*;\n\n")
+                .append("@GraphQLClient(schema = \"Schema.gql\", dtoPackage = \"dto\")\n")
+                .append("public interface Client {\n");
+        for (String field : schema.getRootFields()) {
+            client.append("    @GraphQLQuery(value = \"").append(field).append("\", maxDepth = ").append(maxDepth).append(")\n")
+                    .append("    Object ").append(field).append("(String id);\n");
+        }
+        return client.append("}\n").toString();
+    }
+
+    private static void delete(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(path)) {
+            paths.sorted(Comparator.reverseOrder())
+                    .forEach(it -> {
+                        try {
+                            Files.delete(it);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        }
+    }
+
+}
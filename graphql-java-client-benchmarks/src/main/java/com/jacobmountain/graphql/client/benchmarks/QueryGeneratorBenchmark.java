@@ -0,0 +1,49 @@
+package com.jacobmountain.graphql.client.benchmarks;
+
+import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.utils.Schema;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generating the query of a single method, for an object type and for an interface with every object as a possible
+ * type
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class QueryGeneratorBenchmark {
+
+    @Param({"100", "1000"})
+    public int types;
+
+    @Param({"2", "4", "6", "8"})
+    public int maxDepth;
+
+    private QueryGenerator generator;
+
+    @Setup
+    public void setup() {
+        generator = new QueryGenerator(new Schema(SyntheticSchema.of(types).generate()));
+    }
+
+    @Benchmark
+    public String object() {
+        return generator.query()
+                .maxDepth(maxDepth)
+                .build(null, "type0", Collections.singleton("id"));
+    }
+
+    @Benchmark
+    public String iface() {
+        return generator.query()
+                .maxDepth(maxDepth)
+                .build(null, "node", Collections.singleton("id"));
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.jacobmountain.graphql.client.benchmarks;
+
+import com.jacobmountain.graphql.client.utils.Schema;
+import com.jacobmountain.graphql.client.utils.SchemaSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing and indexing a schema, compared to reading a binary snapshot of it
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Dlogback.configurationFile=logback-benchmarks.xml")
+public class SchemaBenchmark {
+
+    @Param({"100", "1000", "5000", "20000"})
+    public int types;
+
+    private String sdl;
+
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        sdl = SyntheticSchema.of(types).generate();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SchemaSnapshot.write(new Schema(sdl), new DataOutputStream(bytes));
+        snapshot = bytes.toByteArray();
+    }
+
+    @Benchmark
+    public Schema parse() {
+        return new Schema(sdl);
+    }
+
+    @Benchmark
+    public Schema readSnapshot() throws IOException {
+        return SchemaSnapshot.read(new DataInputStream(new ByteArrayInputStream(snapshot)));
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.jacobmountain.graphql.client.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates GraphQL schemas of a given size, the schemas are always the same for the same parameters.
+ * <p>
+ * Every object type implements a hierarchy of interfaces {@code Node <- Level1 <- ... <- LevelN}, links to two other
+ * object types, and returns one of the unions, each union has {@code unionWidth} members.
+ */
+public class SyntheticSchema {
+
+    private final int types;
+
+    private final int interfaceDepth;
+
+    private final int unionWidth;
+
+    private final int rootFields;
+
+    private SyntheticSchema(int types, int interfaceDepth, int unionWidth, int rootFields) {
+        this.types = types;
+        this.interfaceDepth = interfaceDepth;
+        this.unionWidth = unionWidth;
+        this.rootFields = rootFields;
+    }
+
+    /**
+     * @param types the total number of types in the schema, from 100 to 20,000
+     */
+    public static SyntheticSchema of(int types) {
+        return new SyntheticSchema(types, 5, 20, 50);
+    }
+
+    public SyntheticSchema interfaceDepth(int interfaceDepth) {
+        return new SyntheticSchema(types, interfaceDepth, unionWidth, rootFields);
+    }
+
+    public SyntheticSchema unionWidth(int unionWidth) {
+        return new SyntheticSchema(types, interfaceDepth, unionWidth, rootFields);
+    }
+
+    public SyntheticSchema rootFields(int rootFields) {
+        return new SyntheticSchema(types, interfaceDepth, unionWidth, rootFields);
+    }
+
+    public int getUnions() {
+        return Math.max(1, types / 100);
+    }
+
+    public int getInputs() {
+        return Math.max(1, types / 100);
+    }
+
+    public int getObjects() {
+        // the roots, interfaces, unions, inputs and the enum make up the rest
+        return Math.max(1, types - 2 - (interfaceDepth + 1) - getUnions() - getInputs() - 1);
+    }
+
+    /**
+     * @return the names of the fields of the query type
+     */
+    public List<String> getRootFields() {
+        List<String> fields = new ArrayList<>();
+        fields.add("node");
+        for (int i = 0; i < Math.min(rootFields, getObjects()); i++) {
+            fields.add("type" + i);
+        }
+        return fields;
+    }
+
+    public String generate() {
+        StringBuilder sdl = new StringBuilder();
+        sdl.append("schema {\n  query: Query\n  mutation: Mutation\n}\n\n");
+
+        sdl.append("type Query {\n  node(id: ID!): Node\n");
+        for (int i = 0; i < Math.min(rootFields, getObjects()); i++) {
+            sdl.append("  type").append(i).append("(id: ID!, filter: Input").append(i % getInputs()).append("): Type").append(i).append('\n');
+        }
+        sdl.append("}\n\n");
+
+        sdl.append("type Mutation {\n");
+        for (int i = 0; i < Math.min(rootFields, getObjects()); i++) {
+            sdl.append("  updateType").append(i).append("(id: ID!, input: Input").append(i % getInputs()).append("): Type").append(i).append('\n');
+        }
+        sdl.append("}\n\n");
+
+        sdl.append("interface Node {\n  id: ID!\n}\n\n");
+        for (int level = 1; level <= interfaceDepth; level++) {
+            sdl.append("interface Level").append(level).append(" implements Node");
+            for (int parent = 1; parent < level; parent++) {
+                sdl.append(" & Level").append(parent);
+            }
+            sdl.append(" {\n  id: ID!\n");
+            for (int field = 1; field <= level; field++) {
+                sdl.append("  level").append(field).append(": String\n");
+            }
+            sdl.append("}\n\n");
+        }
+
+        int objects = getObjects();
+        for (int i = 0; i < objects; i++) {
+            sdl.append("type Type").append(i).append(" implements Node");
+            for (int level = 1; level <= interfaceDepth; level++) {
+                sdl.append(" & Level").append(level);
+            }
+            sdl.append(" {\n  id: ID!\n");
+            for (int level = 1; level <= interfaceDepth; level++) {
+                sdl.append("  level").append(level).append(": String\n");
+            }
+            sdl.append("  name: String\n")
+                    .append("  count: Int\n")
+                    .append("  kind: Kind\n")
+                    .append("  next: Type").append((i + 1) % objects).append('\n')
+                    .append("  related(first: Int): [Type").append((i * 31 + 7) % objects).append("]\n")
+                    .append("  result: Result").append(i % getUnions()).append('\n')
+                    .append("}\n\n");
+        }
+
+        for (int u = 0; u < getUnions(); u++) {
+            sdl.append("union Result").append(u).append(" =");
+            for (int member = 0; member < Math.min(unionWidth, objects); member++) {
+                sdl.append(member == 0 ? " " : " | ").append("Type").append((u * unionWidth + member) % objects);
+            }
+            sdl.append("\n\n");
+        }
+
+        for (int i = 0; i < getInputs(); i++) {
+            sdl.append("input Input").append(i).append(" {\n  name: String\n  count: Int\n  kind: Kind\n}\n\n");
+        }
+
+        sdl.append("enum Kind {\n  A\n  B\n  C\n}\n");
+        return sdl.toString();
+    }
+
+}
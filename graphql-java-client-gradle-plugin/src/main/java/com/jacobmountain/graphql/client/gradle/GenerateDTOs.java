@@ -0,0 +1,99 @@
+package com.jacobmountain.graphql.client.gradle;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.FileSystemOperations;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.*;
+import org.gradle.process.ExecOperations;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the DTOs of a GraphQL schema into a directory, outside of annotation processing. The output only depends on
+ * the schema, the package, the scalars, whether codecs are generated and the version of the generator, so it is
+ * cacheable, and can be shared by every module with a @GraphQLClient on the same schema (setting generateDtos = false
+ * on their clients).
+ */
+@CacheableTask
+public abstract class GenerateDTOs extends DefaultTask {
+
+    static final String MAIN_CLASS = "com.jacobmountain.graphql.client.cli.DTOGeneratorCli";
+
+    @InputFile
+    @PathSensitive(PathSensitivity.NONE)
+    public abstract RegularFileProperty getSchema();
+
+    /**
+     * The package of the generated DTOs
+     */
+    @Input
+    public abstract Property<String> getPackageName();
+
+    /**
+     * The fully qualified java class of any custom scalars, by the name of the scalar
+     */
+    @Input
+    public abstract MapProperty<String, String> getScalars();
+
+    /**
+     * Whether each DTO also gets a codec, and the GraphQLCodecs Jackson module registering them, to read and write the
+     * DTOs without reflection (default false)
+     */
+    @Input
+    @Optional
+    public abstract Property<Boolean> getCodecs();
+
+    /**
+     * The number of threads to generate the DTOs on, this doesn't change the output
+     */
+    @Internal
+    public abstract Property<Integer> getParallelism();
+
+    @Classpath
+    public abstract ConfigurableFileCollection getGeneratorClasspath();
+
+    @OutputDirectory
+    public abstract DirectoryProperty getOutputDir();
+
+    @Inject
+    protected abstract ExecOperations getExecOperations();
+
+    @Inject
+    protected abstract FileSystemOperations getFileSystemOperations();
+
+    @TaskAction
+    public void generate() {
+        // remove the DTOs of any types since removed from the schema
+        getFileSystemOperations().delete(spec -> spec.delete(getOutputDir()));
+        List<String> args = new ArrayList<>();
+        args.add("--schema");
+        args.add(getSchema().get().getAsFile().getAbsolutePath());
+        args.add("--package");
+        args.add(getPackageName().get());
+        args.add("--output");
+        args.add(getOutputDir().get().getAsFile().getAbsolutePath());
+        getScalars().get().forEach((scalar, type) -> {
+            args.add("--scalar");
+            args.add(scalar + "=" + type);
+        });
+        if (getCodecs().getOrElse(false)) {
+            args.add("--codecs");
+        }
+        if (getParallelism().isPresent()) {
+            args.add("--parallelism");
+            args.add(String.valueOf(getParallelism().get()));
+        }
+        getExecOperations().javaexec(spec -> {
+            spec.setClasspath(getGeneratorClasspath());
+            spec.getMainClass().set(MAIN_CLASS);
+            spec.args(args);
+        });
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.jacobmountain.graphql.client.gradle;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+
+/**
+ * Adds the graphqlJavaClient configuration, holding the generator run by {@link GenerateDTOs} tasks, and puts the output
+ * of each GenerateDTOs task under build/generated/sources/graphql by default
+ */
+public class GraphQLClientPlugin implements Plugin<Project> {
+
+    public static final String CONFIGURATION_NAME = "graphqlJavaClient";
+
+    @Override
+    public void apply(Project project) {
+        Configuration generator = project.getConfigurations().create(CONFIGURATION_NAME, configuration -> {
+            configuration.setDescription("The graphql-java-client code generator");
+            configuration.setCanBeConsumed(false);
+            configuration.defaultDependencies(dependencies -> dependencies.add(
+                    project.getDependencies().create("com.jacobmountain:graphql-java-client-processor:" + getVersion())
+            ));
+        });
+        project.getTasks().withType(GenerateDTOs.class).configureEach(task -> {
+            task.getGeneratorClasspath().from(generator);
+            task.getOutputDir().convention(project.getLayout().getBuildDirectory().dir("generated/sources/graphql/" + task.getName()));
+        });
+    }
+
+    private static String getVersion() {
+        String version = GraphQLClientPlugin.class.getPackage().getImplementationVersion();
+        if (version == null) {
+            throw new IllegalStateException("Unknown graphql-java-client version, add the generator to the " + CONFIGURATION_NAME + " configuration");
+        }
+        return version;
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.jacobmountain.graphql.client.gradle
+
+import org.gradle.testkit.runner.BuildResult
+import org.gradle.testkit.runner.GradleRunner
+import spock.lang.Specification
+
+import static org.gradle.testkit.runner.TaskOutcome.*
+
+class GenerateDTOsSpec extends Specification {
+
+    File projectDir = File.createTempDir()
+
+    File dtos = new File(projectDir, "build/generated/sources/graphql/generateDtos/com/example/dto")
+
+    def setup() {
+        String generator = System.getProperty("generatorClasspath")
+                .split(File.pathSeparator)
+                .collect { "\"${it.replace('\\', '/')}\"" }
+                .join(", ")
+        new File(projectDir, "settings.gradle") << """
+            rootProject.name = "dtos"
+            buildCache {
+                local {
+                    directory = file("build-cache")
+                }
+            }
+        """
+        new File(projectDir, "build.gradle") << """
+            plugins {
+                id "com.jacobmountain.graphql-java-client"
+            }
+
+            if (!hasProperty("publishedGenerator")) {
+                dependencies {
+                    graphqlJavaClient files(${generator})
+                }
+            }
+
+            tasks.register("generateDtos", com.jacobmountain.graphql.client.gradle.GenerateDTOs) {
+                schema = file("Schema.gql")
+                packageName = "com.example.dto"
+            }
+        """
+        new File(projectDir, "Schema.gql") << """
+            schema {
+                query: Query
+            }
+            type Query {
+                hero: Hero
+            }
+            type Hero {
+                name: String
+                episode: Episode
+            }
+            enum Episode {
+                NEWHOPE
+                EMPIRE
+                JEDI
+            }
+        """
+    }
+
+    def cleanup() {
+        projectDir.deleteDir()
+    }
+
+    GradleRunner runner(String... args) {
+        GradleRunner.create()
+                .withProjectDir(projectDir)
+                .withPluginClasspath()
+                .withArguments(["--build-cache", "--stacktrace"] + (args as List))
+    }
+
+    BuildResult build(String... args) {
+        runner(args).build()
+    }
+
+    def "The DTOs of the schema are generated into the build directory"() {
+        when:
+        def result = build("generateDtos")
+
+        then:
+        result.task(":generateDtos").outcome == SUCCESS
+        dtos.list().sort() == ["Episode.java", "Hero.java", "Query.java"]
+        new File(dtos, "Hero.java").text.contains("package com.example.dto;")
+    }
+
+    def "The DTOs are only generated again when the inputs change"() {
+        given:
+        build("generateDtos")
+
+        when:
+        def result = build("generateDtos")
+
+        then:
+        result.task(":generateDtos").outcome == UP_TO_DATE
+
+        when:
+        new File(projectDir, "Schema.gql") << """
+            type Droid {
+                name: String
+            }
+        """
+        result = build("generateDtos")
+
+        then:
+        result.task(":generateDtos").outcome == SUCCESS
+        new File(dtos, "Droid.java").exists()
+    }
+
+    def "The DTOs are restored from the build cache"() {
+        given:
+        build("generateDtos")
+        new File(projectDir, "build").deleteDir()
+
+        when:
+        def result = build("generateDtos")
+
+        then:
+        result.task(":generateDtos").outcome == FROM_CACHE
+        dtos.list().sort() == ["Episode.java", "Hero.java", "Query.java"]
+    }
+
+    def "By default the generator is the processor of the same version as the plugin"() {
+        when:
+        // the project has no repositories, so the generator can't be resolved
+        def result = runner("generateDtos", "-PpublishedGenerator").buildAndFail()
+
+        then:
+        result.output.contains("com.jacobmountain:graphql-java-client-processor:${System.getProperty("pluginVersion")}")
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.jacobmountain.graphql.client.http;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jacobmountain.graphql.client.dto.Response;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The endpoint, client and options shared by the blocking and reactive fetchers, and the requests they send
+ *
+ * @param <Q>     the query type
+ * @param <M>     the mutation type
+ * @param <Error> the error type
+ */
+abstract class AbstractHttpFetcher<Q, M, Error> {
+
+    protected final HttpClient client;
+
+    protected final URI uri;
+
+    protected final ObjectMapper mapper;
+
+    protected final JavaType queryType;
+
+    protected final JavaType mutationType;
+
+    protected final Duration timeout;
+
+    private final Map<String, String> headers;
+
+    AbstractHttpFetcher(Builder<Q, M, Error, ?> builder) {
+        this.client = builder.client != null ? builder.client : newClient(builder.connectTimeout);
+        this.uri = builder.uri;
+        this.mapper = builder.mapper;
+        this.queryType = mapper.getTypeFactory().constructParametricType(Response.class, builder.query, builder.error);
+        this.mutationType = mapper.getTypeFactory().constructParametricType(Response.class, builder.mutation, builder.error);
+        this.timeout = builder.timeout;
+        this.headers = new LinkedHashMap<>(builder.headers);
+        if (builder.warmUp) {
+            warmUp();
+        }
+    }
+
+    private static HttpClient newClient(Duration connectTimeout) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    /**
+     * @return a request to the endpoint, with the JSON content type and the headers of the fetcher
+     */
+    protected HttpRequest.Builder newRequest() {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        headers.forEach(builder::header);
+        return builder;
+    }
+
+    static boolean isJson(HttpHeaders headers) {
+        return headers.firstValue("Content-Type")
+                .filter(type -> type.contains("json"))
+                .isPresent();
+    }
+
+    /**
+     * Opens a connection to the endpoint ahead of the first request, the response, and any failure, is ignored
+     */
+    private void warmUp() {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(timeout)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .exceptionally(e -> null);
+    }
+
+    /**
+     * The options of both fetchers, and their defaults
+     *
+     * @param <B> the builder of the fetcher, returned by each option
+     */
+    abstract static class Builder<Q, M, Error, B extends Builder<Q, M, Error, B>> {
+
+        private final URI uri;
+
+        private final Class<Q> query;
+
+        private final Class<M> mutation;
+
+        private final Class<Error> error;
+
+        private HttpClient client;
+
+        private ObjectMapper mapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        private Duration timeout = Duration.ofSeconds(30);
+
+        private final Map<String, String> headers = new LinkedHashMap<>();
+
+        private boolean warmUp = true;
+
+        Builder(URI uri, Class<Q> query, Class<M> mutation, Class<Error> error) {
+            this.uri = Objects.requireNonNull(uri, "uri");
+            this.query = query;
+            this.mutation = mutation;
+            this.error = error;
+        }
+
+        @SuppressWarnings("unchecked")
+        private B self() {
+            return (B) this;
+        }
+
+        /**
+         * Shares an existing HttpClient, and its connection pool, rather than creating one for the fetcher, e.g. one
+         * running on a few event loop threads with HttpClient.Builder.executor. The connectTimeout is then the client's
+         * own
+         */
+        public B client(HttpClient client) {
+            this.client = client;
+            return self();
+        }
+
+        public B mapper(ObjectMapper mapper) {
+            this.mapper = mapper;
+            return self();
+        }
+
+        public B connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return self();
+        }
+
+        /**
+         * The time to wait for the response of each request
+         */
+        public B timeout(Duration timeout) {
+            this.timeout = timeout;
+            return self();
+        }
+
+        /**
+         * A header sent with every request, e.g. Authorization
+         */
+        public B header(String name, String value) {
+            this.headers.put(name, value);
+            return self();
+        }
+
+        /**
+         * Whether a connection is opened to the endpoint when the fetcher is created (default true)
+         */
+        public B warmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+            return self();
+        }
+
+    }
+
+}
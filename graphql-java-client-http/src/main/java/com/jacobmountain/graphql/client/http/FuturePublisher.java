@@ -0,0 +1,102 @@
+package com.jacobmountain.graphql.client.http;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Publishes the value of a future, started for each subscriber once it requests the value. Null values complete
+ * without a value
+ *
+ * @param <T> the type of the value
+ */
+class FuturePublisher<T> implements Publisher<T> {
+
+    private final Supplier<CompletableFuture<T>> source;
+
+    FuturePublisher(Supplier<CompletableFuture<T>> source) {
+        this.source = source;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscriber.onSubscribe(new FutureSubscription<>(subscriber, source));
+    }
+
+    private static class FutureSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+
+        private final Supplier<CompletableFuture<T>> source;
+
+        private final AtomicBoolean requested = new AtomicBoolean();
+
+        // set once a terminal signal is sent, or the subscription is cancelled
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private volatile CompletableFuture<T> future;
+
+        private FutureSubscription(Subscriber<? super T> subscriber, Supplier<CompletableFuture<T>> source) {
+            this.subscriber = subscriber;
+            this.source = source;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error(new IllegalArgumentException("Requested " + n + " values, but only positive numbers of values can be requested"));
+                cancel();
+                return;
+            }
+            if (!requested.compareAndSet(false, true) || done.get()) {
+                return;
+            }
+            CompletableFuture<T> future;
+            try {
+                future = source.get();
+            } catch (Throwable e) {
+                error(e);
+                return;
+            }
+            this.future = future;
+            if (done.get()) {
+                future.cancel(true);
+                return;
+            }
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    error(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+                } else if (done.compareAndSet(false, true)) {
+                    if (value != null) {
+                        subscriber.onNext(value);
+                    }
+                    subscriber.onComplete();
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            done.set(true);
+            CompletableFuture<T> future = this.future;
+            if (future != null) {
+                future.cancel(true);
+            }
+        }
+
+        private void error(Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                subscriber.onError(error);
+            }
+        }
+
+    }
+
+}
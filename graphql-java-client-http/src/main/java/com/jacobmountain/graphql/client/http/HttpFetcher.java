@@ -0,0 +1,151 @@
+package com.jacobmountain.graphql.client.http;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.jacobmountain.graphql.client.Fetcher;
+import com.jacobmountain.graphql.client.PersistedQueryFetcher;
+import com.jacobmountain.graphql.client.dto.Request;
+import com.jacobmountain.graphql.client.dto.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A Fetcher sending queries and mutations as JSON POST requests over a java.net.http.HttpClient.
+ * <p>
+ * The client negotiates HTTP/2 where the server supports it, so concurrent requests are multiplexed over one
+ * connection, and otherwise keeps HTTP/1.1 connections alive in its pool between requests. Responses are asked for
+ * gzip or deflate encoded, and decoded as they are read, with the JSON decoded straight from the body rather than
+ * copied into a String first. A request to the endpoint is sent when the fetcher is created, so the connection, and
+ * TLS handshake, are already open by the first query.
+ * <p>
+ * With persistedQueries the fetcher speaks the Automatic Persisted Queries protocol, see PersistedQueryFetcher.
+ *
+ * @param <Q>     the query type
+ * @param <M>     the mutation type
+ * @param <Error> the error type
+ */
+public class HttpFetcher<Q, M, Error> extends AbstractHttpFetcher<Q, M, Error> implements Fetcher<Q, M, Error> {
+
+    // the fetcher sending persisted queries through this one, or null to always send queries in full
+    private final Fetcher<Q, M, Error> persisted;
+
+    private HttpFetcher(Builder<Q, M, Error> builder) {
+        super(builder);
+        this.persisted = builder.persistedQueries ? new Persisted() : null;
+    }
+
+    public static <Q, M, Error> Builder<Q, M, Error> builder(URI uri, Class<Q> query, Class<M> mutation, Class<Error> error) {
+        return new Builder<>(uri, query, mutation, error);
+    }
+
+    @Override
+    public <A> Response<Q, Error> query(String query, A args) {
+        if (persisted != null) {
+            return persisted.query(query, args);
+        }
+        return post(new Request<>(query, args), queryType);
+    }
+
+    @Override
+    public <A> Response<Q, Error> query(String query, String hash, A args) {
+        if (persisted != null) {
+            return persisted.query(query, hash, args);
+        }
+        return query(query, args);
+    }
+
+    @Override
+    public <A> Response<M, Error> mutate(String mutation, A args) {
+        if (persisted != null) {
+            return persisted.mutate(mutation, args);
+        }
+        return post(new Request<>(mutation, args), mutationType);
+    }
+
+    @Override
+    public <A> Response<M, Error> mutate(String mutation, String hash, A args) {
+        if (persisted != null) {
+            return persisted.mutate(mutation, hash, args);
+        }
+        return mutate(mutation, args);
+    }
+
+    private <T> Response<T, Error> post(Request<?> request, JavaType type) {
+        try {
+            HttpRequest.Builder builder = newRequest()
+                    .header("Accept-Encoding", "gzip, deflate")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(request)));
+            HttpResponse<InputStream> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = decode(response)) {
+                if (response.statusCode() >= 400 && !isJson(response.headers())) {
+                    throw new HttpFetcherException(response.statusCode(), uri);
+                }
+                return mapper.readValue(body, type);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpFetcherException("Interrupted while waiting for " + uri, e);
+        }
+    }
+
+    /**
+     * Wraps the body in a decoder for its Content-Encoding, so it is decompressed while it is parsed
+     */
+    static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        String encoding = response.headers()
+                .firstValue("Content-Encoding")
+                .orElse("identity")
+                .trim();
+        if ("gzip".equalsIgnoreCase(encoding)) {
+            return new GZIPInputStream(response.body());
+        } else if ("deflate".equalsIgnoreCase(encoding)) {
+            return new InflaterInputStream(response.body());
+        }
+        return response.body();
+    }
+
+    /**
+     * Sends the requests of the persisted queries protocol through the fetcher
+     */
+    private class Persisted extends PersistedQueryFetcher<Q, M, Error> {
+
+        @Override
+        protected <A> Response<Q, Error> sendQuery(Request<A> request) {
+            return post(request, queryType);
+        }
+
+        @Override
+        protected <A> Response<M, Error> sendMutation(Request<A> request) {
+            return post(request, mutationType);
+        }
+
+    }
+
+    public static class Builder<Q, M, Error> extends AbstractHttpFetcher.Builder<Q, M, Error, Builder<Q, M, Error>> {
+
+        private boolean persistedQueries = false;
+
+        private Builder(URI uri, Class<Q> query, Class<M> mutation, Class<Error> error) {
+            super(uri, query, mutation, error);
+        }
+
+        public Builder<Q, M, Error> persistedQueries(boolean persistedQueries) {
+            this.persistedQueries = persistedQueries;
+            return this;
+        }
+
+        public HttpFetcher<Q, M, Error> build() {
+            return new HttpFetcher<>(this);
+        }
+
+    }
+
+}
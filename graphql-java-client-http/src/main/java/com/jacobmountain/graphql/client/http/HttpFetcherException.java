@@ -0,0 +1,15 @@
+package com.jacobmountain.graphql.client.http;
+
+import java.net.URI;
+
+public class HttpFetcherException extends RuntimeException {
+
+    public HttpFetcherException(int status, URI uri) {
+        super("Request to " + uri + " failed with status " + status);
+    }
+
+    public HttpFetcherException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
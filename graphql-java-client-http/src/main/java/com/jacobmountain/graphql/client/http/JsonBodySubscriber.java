@@ -0,0 +1,149 @@
+package com.jacobmountain.graphql.client.http;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Decodes a JSON body as its chunks arrive, with Jackson's non-blocking parser. The tokens are buffered as they are
+ * parsed, and bound to the type once the root value ends, so the body is never held as a byte[] or String, and no
+ * thread waits on the connection.
+ * <p>
+ * Chunks backed by an array are fed to the parser as they are, others are copied into a scratch array the size of one
+ * chunk.
+ *
+ * @param <T> the type of the body
+ */
+class JsonBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+
+    private final CompletableFuture<T> body = new CompletableFuture<>();
+
+    private final ObjectReader reader;
+
+    private final JsonParser parser;
+
+    private final ByteArrayFeeder feeder;
+
+    private final TokenBuffer tokens;
+
+    private Flow.Subscription subscription;
+
+    private byte[] scratch = new byte[0];
+
+    private int depth = 0;
+
+    JsonBodySubscriber(ObjectMapper mapper, JavaType type) {
+        try {
+            this.parser = mapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.reader = mapper.readerFor(type);
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.tokens = new TokenBuffer(parser);
+        this.tokens.forceUseOfBigDecimal(mapper.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS));
+    }
+
+    @Override
+    public CompletionStage<T> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> buffers) {
+        try {
+            for (ByteBuffer buffer : buffers) {
+                if (body.isDone()) {
+                    // anything after the root value is ignored
+                    break;
+                }
+                feed(buffer);
+                parse();
+            }
+        } catch (Exception e) {
+            body.completeExceptionally(e);
+        }
+        if (body.isDone()) {
+            subscription.cancel();
+        } else {
+            subscription.request(1);
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        body.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (body.isDone()) {
+            return;
+        }
+        try {
+            feeder.endOfInput();
+            parse();
+            if (!body.isDone()) {
+                body.completeExceptionally(new EOFException("The response ended before its JSON body did"));
+            }
+        } catch (Exception e) {
+            body.completeExceptionally(e);
+        }
+    }
+
+    private void feed(ByteBuffer buffer) throws IOException {
+        int length = buffer.remaining();
+        if (buffer.hasArray()) {
+            int start = buffer.arrayOffset() + buffer.position();
+            feeder.feedInput(buffer.array(), start, start + length);
+        } else {
+            if (scratch.length < length) {
+                scratch = new byte[length];
+            }
+            buffer.get(scratch, 0, length);
+            feeder.feedInput(scratch, 0, length);
+        }
+        buffer.position(buffer.limit());
+    }
+
+    /**
+     * Buffers the tokens available so far, completing the body as soon as the root value ends
+     */
+    private void parse() throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            tokens.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth == 0) {
+                body.complete(reader.readValue(tokens.asParser(reader)));
+                return;
+            }
+        }
+    }
+
+}
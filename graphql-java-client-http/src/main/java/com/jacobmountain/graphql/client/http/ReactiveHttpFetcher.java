@@ -0,0 +1,86 @@
+package com.jacobmountain.graphql.client.http;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.jacobmountain.graphql.client.ReactiveFetcher;
+import com.jacobmountain.graphql.client.dto.Request;
+import com.jacobmountain.graphql.client.dto.Response;
+import org.reactivestreams.Publisher;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A ReactiveFetcher sending queries and mutations as JSON POST requests with HttpClient.sendAsync, which never blocks
+ * a thread.
+ * <p>
+ * The body of the response is decoded by Jackson's non-blocking parser as its chunks arrive, on the threads of the
+ * HttpClient, and the Publisher completes as soon as the last token of the body is parsed. Each subscription sends
+ * its own request once the value is requested. Connections are pooled, and multiplexed over HTTP/2, as with the
+ * HttpFetcher, but responses aren't requested compressed.
+ *
+ * @param <Q>     the query type
+ * @param <M>     the mutation type
+ * @param <Error> the error type
+ */
+public class ReactiveHttpFetcher<Q, M, Error> extends AbstractHttpFetcher<Q, M, Error> implements ReactiveFetcher<Q, M, Error> {
+
+    private ReactiveHttpFetcher(Builder<Q, M, Error> builder) {
+        super(builder);
+    }
+
+    public static <Q, M, Error> Builder<Q, M, Error> builder(URI uri, Class<Q> query, Class<M> mutation, Class<Error> error) {
+        return new Builder<>(uri, query, mutation, error);
+    }
+
+    @Override
+    public <A> Publisher<Response<Q, Error>> query(String query, A args) {
+        return new FuturePublisher<>(() -> post(new Request<>(query, args), queryType));
+    }
+
+    @Override
+    public <A> Publisher<Response<M, Error>> mutate(String mutation, A args) {
+        return new FuturePublisher<>(() -> post(new Request<>(mutation, args), mutationType));
+    }
+
+    private <T> CompletableFuture<Response<T, Error>> post(Request<?> request, JavaType type) {
+        byte[] body;
+        try {
+            body = mapper.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        HttpRequest httpRequest = newRequest()
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return client.sendAsync(httpRequest, this.<T>handler(type))
+                .thenApply(HttpResponse::body);
+    }
+
+    private <T> HttpResponse.BodyHandler<Response<T, Error>> handler(JavaType type) {
+        return info -> {
+            if (info.statusCode() >= 400 && !isJson(info.headers())) {
+                return HttpResponse.BodySubscribers.mapping(HttpResponse.BodySubscribers.discarding(), ignored -> {
+                    throw new HttpFetcherException(info.statusCode(), uri);
+                });
+            }
+            return new JsonBodySubscriber<>(mapper, type);
+        };
+    }
+
+    public static class Builder<Q, M, Error> extends AbstractHttpFetcher.Builder<Q, M, Error, Builder<Q, M, Error>> {
+
+        private Builder(URI uri, Class<Q> query, Class<M> mutation, Class<Error> error) {
+            super(uri, query, mutation, error);
+        }
+
+        public ReactiveHttpFetcher<Q, M, Error> build() {
+            return new ReactiveHttpFetcher<>(this);
+        }
+
+    }
+
+}
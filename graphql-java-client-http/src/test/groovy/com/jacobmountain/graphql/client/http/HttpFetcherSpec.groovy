@@ -0,0 +1,133 @@
+package com.jacobmountain.graphql.client.http
+
+import com.jacobmountain.graphql.client.PersistedQueries
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import groovy.json.JsonSlurper
+import groovy.transform.ToString
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.util.zip.DeflaterOutputStream
+import java.util.zip.GZIPOutputStream
+
+class HttpFetcherSpec extends Specification {
+
+    static class Query {
+        String hero
+    }
+
+    @ToString
+    static class Error {
+        String message
+    }
+
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+
+    List<Map> requests = []
+
+    List<Map<String, String>> headers = []
+
+    List<Closure> responses = []
+
+    def setup() {
+        server.createContext("/graphql") { HttpExchange exchange ->
+            if (exchange.requestMethod == "HEAD") {
+                exchange.sendResponseHeaders(200, -1)
+                exchange.close()
+                return
+            }
+            requests << new JsonSlurper().parse(exchange.requestBody)
+            headers << exchange.requestHeaders.collectEntries { [it.key.toLowerCase(), it.value[0]] }
+            responses.remove(0).call(exchange)
+            exchange.close()
+        }
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    HttpFetcher<Query, Void, Error> fetcher(boolean persistedQueries = false) {
+        HttpFetcher.builder(URI.create("http://localhost:${server.address.port}/graphql"), Query, Void, Error)
+                .header("Authorization", "Bearer token")
+                .persistedQueries(persistedQueries)
+                .build()
+    }
+
+    static Closure respond(String body, String encoding = null) {
+        return { HttpExchange exchange ->
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            if (encoding) {
+                exchange.responseHeaders.add("Content-Encoding", encoding)
+            }
+            exchange.sendResponseHeaders(200, 0)
+            def out = exchange.responseBody
+            if (encoding == "gzip") {
+                out = new GZIPOutputStream(out)
+            } else if (encoding == "deflate") {
+                out = new DeflaterOutputStream(out)
+            }
+            out.withStream { it.write(body.bytes) }
+        }
+    }
+
+    def "Queries are posted as JSON, along with the headers"() {
+        given:
+        responses << respond('{"data": {"hero": "Luke"}}')
+
+        when:
+        def response = fetcher().query("query Hero { hero }", [episode: "JEDI"])
+
+        then:
+        response.data.hero == "Luke"
+        requests == [[query: "query Hero { hero }", variables: [episode: "JEDI"]]]
+        headers[0]["authorization"] == "Bearer token"
+        headers[0]["accept-encoding"] == "gzip, deflate"
+    }
+
+    @Unroll
+    def "Compressed responses are decoded (#encoding)"() {
+        given:
+        responses << respond('{"data": {"hero": "Leia"}, "errors": [{"message": "partial"}]}', encoding)
+
+        when:
+        def response = fetcher().query("query Hero { hero }", null)
+
+        then:
+        response.data.hero == "Leia"
+        response.errors*.message == ["partial"]
+
+        where:
+        encoding << ["gzip", "deflate"]
+    }
+
+    def "Persisted queries are sent in full when the server doesn't know them"() {
+        given:
+        responses << respond('{"errors": [{"message": "PersistedQueryNotFound"}]}') << respond('{"data": {"hero": "Han"}}')
+
+        when:
+        def response = fetcher(true).query("query Hero { hero }", "abc", null)
+
+        then:
+        response.data.hero == "Han"
+        requests.collect { it.containsKey("query") } == [false, true]
+        requests*.extensions == [PersistedQueries.extensions("abc")] * 2
+    }
+
+    def "Failed requests without a JSON body throw"() {
+        given:
+        responses << { HttpExchange exchange ->
+            exchange.sendResponseHeaders(502, 0)
+            exchange.responseBody.withStream { it.write("Bad Gateway".bytes) }
+        }
+
+        when:
+        fetcher().query("query Hero { hero }", null)
+
+        then:
+        thrown(HttpFetcherException)
+    }
+
+}
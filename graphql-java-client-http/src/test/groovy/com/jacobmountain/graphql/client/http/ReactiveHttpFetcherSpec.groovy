@@ -0,0 +1,163 @@
+package com.jacobmountain.graphql.client.http
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.jacobmountain.graphql.client.dto.Response
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import groovy.json.JsonSlurper
+import org.reactivestreams.Publisher
+import org.reactivestreams.Subscriber
+import org.reactivestreams.Subscription
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Flow
+import java.util.concurrent.TimeUnit
+
+class ReactiveHttpFetcherSpec extends Specification {
+
+    static class Query {
+        String hero
+    }
+
+    static class Error {
+        String message
+    }
+
+    HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+
+    List<Map> requests = []
+
+    List<Closure> responses = []
+
+    def setup() {
+        server.createContext("/graphql") { HttpExchange exchange ->
+            requests << new JsonSlurper().parse(exchange.requestBody)
+            responses.remove(0).call(exchange)
+            exchange.close()
+        }
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    ReactiveHttpFetcher<Query, Void, Error> fetcher() {
+        ReactiveHttpFetcher.builder(URI.create("http://localhost:${server.address.port}/graphql"), Query, Void, Error)
+                .header("Authorization", "Bearer token")
+                .warmUp(false)
+                .build()
+    }
+
+    static <T> T await(Publisher<T> publisher) {
+        def result = new CompletableFuture<T>()
+        publisher.subscribe(new Subscriber<T>() {
+            T value
+
+            void onSubscribe(Subscription subscription) {
+                subscription.request(Long.MAX_VALUE)
+            }
+
+            void onNext(T value) {
+                this.value = value
+            }
+
+            void onError(Throwable throwable) {
+                result.completeExceptionally(throwable)
+            }
+
+            void onComplete() {
+                result.complete(value)
+            }
+        })
+        try {
+            return result.get(10, TimeUnit.SECONDS)
+        } catch (ExecutionException e) {
+            throw e.cause
+        }
+    }
+
+    def "Queries are posted as JSON, and decoded as the body arrives"() {
+        given:
+        responses << { HttpExchange exchange ->
+            exchange.responseHeaders.add("Content-Type", "application/json")
+            exchange.sendResponseHeaders(200, 0)
+            exchange.responseBody.withStream { out ->
+                ['{"data": {"he', 'ro": "Lu', 'ke"}, "errors": [{"message": "partial"}]}'].each {
+                    out.write(it.bytes)
+                    out.flush()
+                    sleep(20)
+                }
+            }
+        }
+
+        when:
+        Response<Query, Error> response = await(fetcher().query("query Hero { hero }", [episode: "JEDI"]))
+
+        then:
+        response.data.hero == "Luke"
+        response.errors*.message == ["partial"]
+        requests == [[query: "query Hero { hero }", variables: [episode: "JEDI"]]]
+    }
+
+    def "Requests are only sent once the response is requested"() {
+        when:
+        fetcher().query("query Hero { hero }", null)
+        sleep(100)
+
+        then:
+        requests.isEmpty()
+    }
+
+    def "Failed requests without a JSON body are errors"() {
+        given:
+        responses << { HttpExchange exchange ->
+            exchange.sendResponseHeaders(502, 0)
+            exchange.responseBody.withStream { it.write("Bad Gateway".bytes) }
+        }
+
+        when:
+        await(fetcher().query("query Hero { hero }", null))
+
+        then:
+        thrown(HttpFetcherException)
+    }
+
+    def "Bodies can be split anywhere, and held in direct buffers"() {
+        given:
+        def subscriber = new JsonBodySubscriber<Response<Query, Error>>(new ObjectMapper(), new ObjectMapper().typeFactory.constructParametricType(Response, Query, Error))
+        def bytes = '{"data": {"hero": "Leia"}, "errors": null}'.bytes
+        def subscription = Mock(Flow.Subscription)
+
+        when:
+        subscriber.onSubscribe(subscription)
+        bytes.each { byte b ->
+            if (!subscriber.body.toCompletableFuture().isDone()) {
+                subscriber.onNext([ByteBuffer.allocateDirect(1).put(b).flip()])
+            }
+        }
+
+        then:
+        subscriber.body.toCompletableFuture().get().data.hero == "Leia"
+        1 * subscription.cancel()
+    }
+
+    def "Bodies ending before their JSON does are errors"() {
+        given:
+        def subscriber = new JsonBodySubscriber<Response<Query, Error>>(new ObjectMapper(), new ObjectMapper().typeFactory.constructParametricType(Response, Query, Error))
+
+        when:
+        subscriber.onSubscribe(Mock(Flow.Subscription))
+        subscriber.onNext([ByteBuffer.wrap('{"data": {"hero": '.bytes)])
+        subscriber.onComplete()
+        subscriber.body.toCompletableFuture().get()
+
+        then:
+        def e = thrown(ExecutionException)
+        e.cause instanceof IOException
+    }
+
+}
@@ -1,13 +1,21 @@
 package com.jacobmountain.graphql.client;
 
+import com.jacobmountain.graphql.client.exceptions.InvalidProjectionException;
 import com.jacobmountain.graphql.client.modules.*;
+import com.jacobmountain.graphql.client.query.QueryCost;
 import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.query.ast.QueryStyle;
+import com.jacobmountain.graphql.client.report.ClientReport;
+import com.jacobmountain.graphql.client.report.MethodReport;
+import com.jacobmountain.graphql.client.report.Stopwatch;
 import com.jacobmountain.graphql.client.utils.AnnotationUtils;
 import com.jacobmountain.graphql.client.utils.Schema;
 import com.jacobmountain.graphql.client.utils.StringUtils;
+import com.jacobmountain.graphql.client.utils.WorkerPool;
 import com.jacobmountain.graphql.client.visitor.ClientDetailsVisitor;
 import com.jacobmountain.graphql.client.visitor.MethodDetails;
 import com.jacobmountain.graphql.client.visitor.MethodDetailsVisitor;
+import com.jacobmountain.graphql.client.visitor.Projection;
 import com.squareup.javapoet.*;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
@@ -15,11 +23,20 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.processing.Filer;
 import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -40,17 +57,42 @@ public class ClientGenerator {
 
     private final AbstractStage arguments;
 
-    private final AbstractStage query;
+    private final AbstractQueryStage query;
 
     private final AbstractStage returnResults;
 
-    public ClientGenerator(Filer filer, TypeMapper typeMapper, String packageName, String dtoPackageName, Schema schema, boolean reactive) {
+    private final QueryCost cost;
+
+    private final boolean operations;
+
+    private final boolean variablesWriters;
+
+    private final WorkerPool workers;
+
+    public ClientGenerator(Filer filer, TypeMapper typeMapper, String packageName, String dtoPackageName, Schema schema, boolean reactive, QueryStyle style, WorkerPool workers) {
+        this(filer, typeMapper, packageName, dtoPackageName, schema, reactive, style, QueryCost.DEFAULT_LIST_SIZE, false, false, false, workers);
+    }
+
+    /**
+     * @param defaultListSize the expected size of lists without a default first/last argument, when estimating the
+     *                        cost of the queries
+     * @param namedFragments  whether the selection sets repeated within a query are hoisted into named fragments
+     * @param operations      whether the operations of the client are also generated as constants and a manifest, see
+     *                        OperationsGenerator
+     * @param variablesWriters whether the argument classes of the methods write themselves as the variables of the
+     *                        request, see VariablesWriter
+     */
+    public ClientGenerator(Filer filer, TypeMapper typeMapper, String packageName, String dtoPackageName, Schema schema, boolean reactive, QueryStyle style, int defaultListSize, boolean namedFragments, boolean operations, boolean variablesWriters, WorkerPool workers) {
         this.filer = filer;
+        this.operations = operations;
+        this.variablesWriters = variablesWriters;
+        this.workers = workers;
+        this.cost = new QueryCost(schema, defaultListSize);
         this.typeMapper = typeMapper;
         this.packageName = packageName;
         this.schema = schema;
         this.arguments = new ArgumentAssemblyStage();
-        QueryGenerator queryGenerator = new QueryGenerator(schema);
+        QueryGenerator queryGenerator = new QueryGenerator(schema, style, cost, namedFragments);
         if (reactive) {
             this.query = new ReactiveQueryStage(queryGenerator, schema, typeMapper, dtoPackageName);
             this.returnResults = new ReactiveReturnStage(schema, typeMapper);
@@ -66,15 +108,32 @@ public class ClientGenerator {
      * @param element the Element that has the @GraphQLClient on
      * @param suffix  the implementations suffix
      */
-    @SneakyThrows
     public void generate(Element element, String suffix) {
+        generate(element, suffix, new ClientReport(element.getSimpleName().toString(), ""));
+    }
+
+    /**
+     * Generates the implementation of the @GraphQLClient interface, recording the time spent in each phase, and the
+     * size of the query of each method
+     *
+     * @param element the Element that has the @GraphQLClient on
+     * @param suffix  the implementations suffix
+     * @param report  the report of the client
+     * @return the report of each method with a query, by the method it was generated for, in the order of the client
+     * @throws InvalidProjectionException if a method returns a projection that doesn't match the schema, suppressing
+     *                                    those of any other methods
+     */
+    @SneakyThrows
+    public Map<ExecutableElement, MethodReport> generate(Element element, String suffix, ClientReport report) {
         if (StringUtils.isEmpty(suffix)) {
             throw new IllegalArgumentException("Invalid suffix for implementation of client: " + element.getSimpleName());
         }
+        Stopwatch analysis = Stopwatch.currentThread();
         ClientDetails details = element.accept(new ClientDetailsVisitor(), null);
         // Generate the class
         TypeSpec.Builder builder = TypeSpec.classBuilder(element.getSimpleName() + suffix)
                 .addSuperinterface(ClassName.get((TypeElement) element))
+                .addOriginatingElement(element)
                 .addModifiers(Modifier.PUBLIC)
                 .addAnnotation(AnnotationUtils.generated());
         // Add type argument to the client
@@ -91,11 +150,83 @@ public class ClientGenerator {
         // generate the constructor
         builder.addMethod(generateConstructor(memberVariables));
 
-        // for each method on the interface, generate its implementation
-        element.getEnclosedElements()
-                .forEach(el -> generateImpl(builder, el, details));
+        // for each method on the interface, generate its implementation, the elements are only read from this thread
+        List<MethodDetails> methods = new ArrayList<>();
+        // the method of each details, as overloads share a name
+        Map<MethodDetails, ExecutableElement> elements = new HashMap<>();
+        InvalidProjectionException invalid = null;
+        for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+            try {
+                MethodDetails methodDetails = getMethodDetails(method);
+                methods.add(methodDetails);
+                elements.put(methodDetails, method);
+            } catch (InvalidProjectionException e) {
+                // every invalid projection of the client is reported at once, the rest suppressed by the first
+                if (invalid == null) {
+                    invalid = e;
+                } else {
+                    invalid.addSuppressed(e);
+                }
+            }
+        }
+        if (invalid != null) {
+            throw invalid;
+        }
+        methods.stream()
+                .map(this::generateArgumentDTO)
+                .forEach(dto -> dto.ifPresent(builder::addType));
+        methods.stream()
+                .map(MethodDetails::getProjection)
+                .filter(Objects::nonNull)
+                .flatMap(Projection::flatten)
+                .collect(Collectors.groupingBy(Projection::getImplementationName, LinkedHashMap::new, Collectors.toList()))
+                .values()
+                .forEach(projections -> builder.addType(generateProjection(projections)));
+        report.phase("analysis").add(analysis.stop());
 
+        Stopwatch generation = Stopwatch.withWorkers(workers);
+        // the queries are measured, and their cost estimated, on the thread generating them
+        Map<MethodDetails, MethodReport> queries = new ConcurrentHashMap<>();
+        Map<MethodDetails, String> documents = new ConcurrentHashMap<>();
+        query.onQueryGenerated((method, operation, query) -> {
+            queries.put(method, MethodReport.of(
+                    method.getMethodName(), getOperation(method), method.getField(), query, cost.estimate(operation), method.getMaxCost()
+            ));
+            documents.put(method, query);
+        });
+        workers.map(methods, method -> generateImpl(method, details))
+                .forEach(builder::addMethod);
+        report.phase("methods").add(generation.stop());
+        Map<ExecutableElement, MethodReport> reports = new LinkedHashMap<>();
+        methods.stream()
+                .filter(queries::containsKey)
+                .forEach(method -> reports.put(elements.get(method), queries.get(method)));
+        reports.values().forEach(report::method);
+
+        Stopwatch write = Stopwatch.currentThread();
         writeToFile(builder.build());
+        if (operations) {
+            List<OperationsGenerator.Operation> generated = methods.stream()
+                    .filter(documents::containsKey)
+                    .map(method -> OperationsGenerator.Operation.of(getOperationName(method), getOperation(method), method.getField(), documents.get(method)))
+                    .collect(Collectors.toList());
+            new OperationsGenerator(filer, packageName).generate((TypeElement) element, generated);
+        }
+        report.phase("write").add(write.stop());
+        return reports;
+    }
+
+    private static String getOperation(MethodDetails method) {
+        if (method.isMutation()) {
+            return "mutation";
+        } else if (method.isSubscription()) {
+            return "subscription";
+        }
+        return "query";
+    }
+
+    private static String getOperationName(MethodDetails method) {
+        return StringUtils.hasLength(method.getRequestName()) ? method.getRequestName() : StringUtils.capitalize(method.getField());
     }
 
     /**
@@ -110,20 +241,20 @@ public class ClientGenerator {
         return constructor.build();
     }
 
-    /**
-     * Generates the client implementation of one method of the interface
-     *
-     * @param method the method of the @GraphQLClient annotated interface
-     */
-    private void generateImpl(TypeSpec.Builder clazz, Element method, ClientDetails client) {
+    private MethodDetails getMethodDetails(Element method) {
         log.info("");
         MethodDetails details = method.accept(new MethodDetailsVisitor(schema), typeMapper);
         log.info("{}", details);
+        return details;
+    }
 
-        generateArgumentDTO(details)
-                .ifPresent(clazz::addType);
-
-        MethodSpec.Builder builder = MethodSpec.methodBuilder(method.getSimpleName().toString())
+    /**
+     * Generates the client implementation of one method of the interface, this may be called from any thread
+     *
+     * @param details the details of the method of the @GraphQLClient annotated interface
+     */
+    private MethodSpec generateImpl(MethodDetails details, ClientDetails client) {
+        MethodSpec.Builder builder = MethodSpec.methodBuilder(details.getMethodName())
                 .returns(details.getReturnType())
                 .addModifiers(Modifier.PUBLIC)
                 .addParameters(details.getParameterSpec());
@@ -132,7 +263,7 @@ public class ClientGenerator {
         this.query.assemble(client, details).forEach(builder::addStatement);
         this.returnResults.assemble(client, details).forEach(builder::addStatement);
 
-        clazz.addMethod(builder.build());
+        return builder.build();
     }
 
     public Optional<TypeSpec> generateArgumentDTO(MethodDetails details) {
@@ -149,8 +280,72 @@ public class ClientGenerator {
                                 }
                                 builder.withField(variable.getType(), field);
                             });
-                    return builder.buildClass();
+                    TypeSpec arguments = builder.buildClass();
+                    if (variablesWriters) {
+                        return VariablesWriter.implement(arguments, details.getParameters());
+                    }
+                    return arguments;
+                });
+    }
+
+    /**
+     * Generates the implementation of a projection, which copies the fields of the projection out of the DTO. An
+     * interface can be a projection of more than one type, then it can be created from the DTO of each of them.
+     *
+     * @param projections the projections of the same interface
+     */
+    private TypeSpec generateProjection(List<Projection> projections) {
+        Projection projection = projections.get(0);
+        String name = projection.getImplementationName();
+        TypeSpec.Builder builder = TypeSpec.classBuilder(name)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                .addSuperinterface(projection.getType());
+        List<CodeBlock> fields = new ArrayList<>();
+        projection.getAccessors()
+                .forEach(accessor -> {
+                    builder.addField(accessor.getType(), accessor.getField(), Modifier.PRIVATE, Modifier.FINAL);
+                    builder.addMethod(MethodSpec.methodBuilder(accessor.getMethodName())
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(accessor.getType())
+                            .addStatement("return $L", accessor.getField())
+                            .build());
+                    fields.add(CodeBlock.of("$S + $L", accessor.getField() + "=", accessor.getField()));
                 });
+        projections.stream()
+                .collect(Collectors.toMap(Projection::getTypeName, Function.identity(), (a, b) -> a, LinkedHashMap::new))
+                .values()
+                .forEach(it -> {
+                    TypeName dto = typeMapper.getType(it.getTypeName());
+                    MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                            .addModifiers(Modifier.PRIVATE)
+                            .addParameter(dto, "dto");
+                    it.getAccessors().forEach(accessor -> {
+                        String getter = StringUtils.camelCase("get", accessor.getField());
+                        if (accessor.getProjection() == null) {
+                            constructor.addStatement("this.$L = dto.$L()", accessor.getField(), getter);
+                        } else if (accessor.isList()) {
+                            constructor.addStatement("this.$L = dto.$L() == null ? null : dto.$L().stream().map($L::of).collect($T.toList())",
+                                    accessor.getField(), getter, getter, accessor.getProjection().getImplementationName(), Collectors.class);
+                        } else {
+                            constructor.addStatement("this.$L = $L.of(dto.$L())", accessor.getField(), accessor.getProjection().getImplementationName(), getter);
+                        }
+                    });
+                    builder.addMethod(constructor.build());
+                    builder.addMethod(MethodSpec.methodBuilder("of")
+                            .addModifiers(Modifier.STATIC)
+                            .returns(it.getType())
+                            .addParameter(dto, "dto")
+                            .addStatement("return dto == null ? null : new $L(dto)", name)
+                            .build());
+                });
+        builder.addMethod(MethodSpec.methodBuilder("toString")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(String.class)
+                .addStatement("return $S + $L + $S", projection.getType().simpleName() + "{", CodeBlock.join(fields, " + \", \" + "), "}")
+                .build());
+        return builder.build();
     }
 
     private void writeToFile(TypeSpec spec) throws Exception {
@@ -0,0 +1,544 @@
+package com.jacobmountain.graphql.client;
+
+import com.jacobmountain.graphql.client.utils.AnnotationUtils;
+import com.jacobmountain.graphql.client.utils.StringUtils;
+import com.squareup.javapoet.*;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Builds the codec of a DTO, reading and writing it with Jackson's JsonParser and JsonGenerator directly, rather than
+ * through bean introspection and reflection. Fields are read by switching on their name, and the codecs of nested DTOs
+ * are called directly, interfaces and unions dispatch on __typename to the codecs of their subtypes. Scalars that
+ * aren't strings, numbers or booleans, e.g. custom scalars, are still read and written by the ObjectMapper.
+ * <p>
+ * Every codec has a Jackson Deserializer and Serializer, registered by the GraphQLCodecs module.
+ */
+public class CodecBuilder extends GeneratedSource {
+
+    public static final String PACKAGE = "codec";
+
+    static final ClassName JSON_PARSER = ClassName.get("com.fasterxml.jackson.core", "JsonParser");
+
+    static final ClassName JSON_TOKEN = ClassName.get("com.fasterxml.jackson.core", "JsonToken");
+
+    static final ClassName JSON_GENERATOR = ClassName.get("com.fasterxml.jackson.core", "JsonGenerator");
+
+    static final ClassName JSON_PARSER_SEQUENCE = ClassName.get("com.fasterxml.jackson.core.util", "JsonParserSequence");
+
+    static final ClassName DESERIALIZATION_CONTEXT = ClassName.get("com.fasterxml.jackson.databind", "DeserializationContext");
+
+    static final ClassName DESERIALIZATION_FEATURE = ClassName.get("com.fasterxml.jackson.databind", "DeserializationFeature");
+
+    static final ClassName SERIALIZER_PROVIDER = ClassName.get("com.fasterxml.jackson.databind", "SerializerProvider");
+
+    static final ClassName STD_DESERIALIZER = ClassName.get("com.fasterxml.jackson.databind.deser.std", "StdDeserializer");
+
+    static final ClassName STD_SERIALIZER = ClassName.get("com.fasterxml.jackson.databind.ser.std", "StdSerializer");
+
+    static final ClassName TYPE_DESERIALIZER = ClassName.get("com.fasterxml.jackson.databind.jsontype", "TypeDeserializer");
+
+    static final ClassName TYPE_SERIALIZER = ClassName.get("com.fasterxml.jackson.databind.jsontype", "TypeSerializer");
+
+    static final ClassName TOKEN_BUFFER = ClassName.get("com.fasterxml.jackson.databind.util", "TokenBuffer");
+
+    private static final String TYPENAME = "__typename";
+
+    /**
+     * The JsonToken read by, and the JsonParser method reading, the Java types read without the ObjectMapper
+     */
+    private static final Map<TypeName, String[]> FAST_PATHS = new HashMap<>();
+
+    static {
+        FAST_PATHS.put(ClassName.get(String.class), new String[]{"VALUE_STRING", "getText"});
+        FAST_PATHS.put(TypeName.INT, new String[]{"VALUE_NUMBER_INT", "getIntValue"});
+        FAST_PATHS.put(TypeName.LONG, new String[]{"VALUE_NUMBER_INT", "getLongValue"});
+        FAST_PATHS.put(TypeName.DOUBLE, new String[]{"VALUE_NUMBER_FLOAT", "getDoubleValue"});
+        FAST_PATHS.put(TypeName.BOOLEAN, new String[]{null, "getBooleanValue"});
+        new ArrayList<>(FAST_PATHS.keySet())
+                .stream()
+                .filter(TypeName::isPrimitive)
+                .forEach(type -> FAST_PATHS.put(type.box(), FAST_PATHS.get(type)));
+    }
+
+    private final PojoBuilder.Type type;
+
+    private final ClassName dto;
+
+    private final ClassName registry;
+
+    private final Set<String> dtos;
+
+    private final Map<String, TypeName> fields = new LinkedHashMap<>();
+
+    private final List<String> enumValues = new ArrayList<>();
+
+    private final List<String> subTypes = new ArrayList<>();
+
+    private boolean polymorphic;
+
+    private final List<MethodSpec> helpers = new ArrayList<>();
+
+    /**
+     * @param type       the kind of DTO
+     * @param dto        the name of the DTO
+     * @param dtoPackage the package of the DTOs, the codecs are generated in its codec package
+     * @param dtos       the names of every generated DTO, which have codecs of their own
+     */
+    public CodecBuilder(PojoBuilder.Type type, String dto, String dtoPackage, Set<String> dtos) {
+        super(dto + "Codec", dtoPackage + "." + PACKAGE);
+        this.type = type;
+        this.dto = ClassName.get(dtoPackage, dto);
+        this.registry = ClassName.get(packageName, CodecRegistryBuilder.NAME);
+        this.dtos = dtos;
+    }
+
+    public CodecBuilder withField(TypeName type, String name) {
+        fields.put(name, type);
+        return this;
+    }
+
+    public CodecBuilder withEnumValue(String value) {
+        enumValues.add(value);
+        return this;
+    }
+
+    public CodecBuilder withSubType(String type) {
+        subTypes.add(type);
+        return this;
+    }
+
+    /**
+     * Marks the DTO as the subtype of an interface or union, so it is written with its __typename, like Jackson writes
+     * the subtypes of a @JsonTypeInfo
+     */
+    public CodecBuilder withSuperType(String type) {
+        polymorphic = true;
+        return this;
+    }
+
+    @Override
+    protected TypeSpec.Builder buildType() {
+        TypeSpec.Builder builder = TypeSpec.classBuilder(name)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addAnnotation(AnnotationUtils.generated())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+        switch (type) {
+            case Class:
+                builder.addMethod(generateClassRead())
+                        .addMethod(generateReadFields())
+                        .addMethod(generateClassWrite());
+                break;
+            case Interface:
+            case Union:
+                builder.addMethod(generateSubTypeRead())
+                        .addMethod(generateSubTypeWrite());
+                break;
+            case Enum:
+                builder.addMethod(generateEnumRead())
+                        .addMethod(generateEnumWrite());
+                break;
+        }
+        return builder.addMethods(helpers)
+                .addType(generateDeserializer())
+                .addType(generateSerializer());
+    }
+
+    private MethodSpec.Builder reader(String name) {
+        return MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(JSON_PARSER, "p")
+                .addParameter(DESERIALIZATION_CONTEXT, "ctxt")
+                .addException(IOException.class);
+    }
+
+    private MethodSpec.Builder writer(String name, TypeName type) {
+        return MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(type, "value")
+                .addParameter(JSON_GENERATOR, "g")
+                .addParameter(SERIALIZER_PROVIDER, "provider")
+                .addException(IOException.class);
+    }
+
+    private MethodSpec generateClassRead() {
+        return reader("read")
+                .returns(dto)
+                .addStatement("$T token = p.currentToken()", JSON_TOKEN)
+                .beginControlFlow("if (token == $T.VALUE_NULL)", JSON_TOKEN)
+                .addStatement("return null")
+                .nextControlFlow("else if (token == $T.START_OBJECT)", JSON_TOKEN)
+                .addStatement("p.nextToken()")
+                .nextControlFlow("else if (token != $T.FIELD_NAME && token != $T.END_OBJECT)", JSON_TOKEN, JSON_TOKEN)
+                .addStatement("return ($T) ctxt.handleUnexpectedToken($T.class, p)", dto, dto)
+                .endControlFlow()
+                .addStatement("$T value = new $T()", dto, dto)
+                .addStatement("readFields(value, p, ctxt)")
+                .addStatement("return value")
+                .build();
+    }
+
+    private MethodSpec generateReadFields() {
+        MethodSpec.Builder method = MethodSpec.methodBuilder("readFields")
+                .addJavadoc("Reads the fields of an object, from the field the parser is at to the end of the object\n")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(dto, "value")
+                .addParameter(JSON_PARSER, "p")
+                .addParameter(DESERIALIZATION_CONTEXT, "ctxt")
+                .addException(IOException.class)
+                .beginControlFlow("for (; p.currentToken() == $T.FIELD_NAME; p.nextToken())", JSON_TOKEN)
+                .addStatement("String field = p.currentName()")
+                .addStatement("p.nextToken()")
+                .beginControlFlow("switch (field)");
+        fields.forEach((field, type) -> method.addCode("case $S:\n$>", field)
+                .addStatement("value.$L($L)", PojoBuilder.createSetterName(PojoBuilder.getFieldName(field)), read(type, field))
+                .addStatement("break")
+                .addCode("$<"));
+        return method.addCode("case $S:\n$>", TYPENAME)
+                .addStatement("break")
+                .addCode("$<default:\n$>")
+                .addStatement("ctxt.handleUnknownProperty(p, null, value, field)")
+                .addCode("$<")
+                .endControlFlow()
+                .endControlFlow()
+                .build();
+    }
+
+    private MethodSpec generateClassWrite() {
+        MethodSpec.Builder method = writer("write", dto)
+                .beginControlFlow("if (value == null)")
+                .addStatement("g.writeNull()")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("boolean nulls = $T.writeNulls(provider, $T.class)", registry, dto)
+                .addStatement("g.writeStartObject(value)");
+        if (polymorphic) {
+            method.addStatement("g.writeStringField($S, $S)", TYPENAME, dto.simpleName());
+        }
+        fields.forEach((field, type) -> {
+            CodeBlock get = CodeBlock.of("value.$L()", PojoBuilder.createGetterName(PojoBuilder.getFieldName(field)));
+            if (type.isPrimitive()) {
+                method.addStatement("g.writeFieldName($S)", field)
+                        .addStatement(write(type, get, field));
+            } else {
+                method.beginControlFlow("if ($L != null)", get)
+                        .addStatement("g.writeFieldName($S)", field)
+                        .addStatement(write(type, get, field))
+                        .nextControlFlow("else if (nulls)")
+                        .addStatement("g.writeNullField($S)", field)
+                        .endControlFlow();
+            }
+        });
+        return method.addStatement("g.writeEndObject()")
+                .build();
+    }
+
+    /**
+     * Reads the __typename, buffering any fields ahead of it, then reads the rest of the object with the codec of the
+     * subtype
+     */
+    private MethodSpec generateSubTypeRead() {
+        MethodSpec.Builder method = reader("read")
+                .returns(dto)
+                .addStatement("$T token = p.currentToken()", JSON_TOKEN)
+                .beginControlFlow("if (token == $T.VALUE_NULL)", JSON_TOKEN)
+                .addStatement("return null")
+                .nextControlFlow("else if (token == $T.START_OBJECT)", JSON_TOKEN)
+                .addStatement("p.nextToken()")
+                .nextControlFlow("else if (token != $T.FIELD_NAME && token != $T.END_OBJECT)", JSON_TOKEN, JSON_TOKEN)
+                .addStatement("return ($T) ctxt.handleUnexpectedToken($T.class, p)", dto, dto)
+                .endControlFlow()
+                .addStatement("$T buffer = null", TOKEN_BUFFER)
+                .beginControlFlow("while (p.currentToken() == $T.FIELD_NAME && !$S.equals(p.currentName()))", JSON_TOKEN, TYPENAME)
+                .beginControlFlow("if (buffer == null)")
+                .addStatement("buffer = new $T(p, ctxt)", TOKEN_BUFFER)
+                .addStatement("buffer.writeStartObject()")
+                .endControlFlow()
+                .addStatement("buffer.copyCurrentStructure(p)")
+                .addStatement("p.nextToken()")
+                .endControlFlow()
+                .beginControlFlow("if (p.currentToken() != $T.FIELD_NAME)", JSON_TOKEN)
+                .addStatement("return ctxt.reportInputMismatch($T.class, $S)", dto, "Missing " + TYPENAME + " of " + dto.simpleName())
+                .endControlFlow()
+                .addStatement("p.nextToken()")
+                .addStatement("String typename = p.getText()")
+                .addStatement("$T parser = p", JSON_PARSER)
+                .beginControlFlow("if (buffer == null)")
+                .addStatement("p.nextToken()")
+                .nextControlFlow("else")
+                .addComment("the buffered fields, then the rest of the object")
+                .addStatement("parser = $T.createFlattened(false, buffer.asParser(p), p)", JSON_PARSER_SEQUENCE)
+                .addStatement("parser.nextToken()")
+                .addStatement("parser.nextToken()")
+                .endControlFlow()
+                .beginControlFlow("switch (typename)");
+        subTypes.forEach(subType -> {
+            ClassName dto = ClassName.get(this.dto.packageName(), subType);
+            method.addCode("case $S: {\n$>", subType)
+                    .addStatement("$T value = new $T()", dto, dto)
+                    .addStatement("$T.readFields(value, parser, ctxt)", codec(subType))
+                    .addStatement("return value")
+                    .addCode("$<}\n");
+        });
+        return method.addCode("default:\n$>")
+                .addStatement("return ctxt.reportInputMismatch($T.class, $S, typename)", dto, "Unknown " + TYPENAME + " %s of " + dto.simpleName())
+                .addCode("$<")
+                .endControlFlow()
+                .build();
+    }
+
+    private MethodSpec generateSubTypeWrite() {
+        MethodSpec.Builder method = writer("write", dto)
+                .beginControlFlow("if (value == null)")
+                .addStatement("g.writeNull()");
+        subTypes.forEach(subType -> {
+            ClassName dto = ClassName.get(this.dto.packageName(), subType);
+            method.nextControlFlow("else if (value instanceof $T)", dto)
+                    .addStatement("$T.write(($T) value, g, provider)", codec(subType), dto);
+        });
+        return method.nextControlFlow("else")
+                .addStatement("provider.reportMappingProblem($S, value.getClass())", "Unexpected implementation of " + dto.simpleName() + ": %s")
+                .endControlFlow()
+                .build();
+    }
+
+    private MethodSpec generateEnumRead() {
+        MethodSpec.Builder method = reader("read")
+                .returns(dto)
+                .addStatement("$T token = p.currentToken()", JSON_TOKEN)
+                .beginControlFlow("if (token == $T.VALUE_NULL)", JSON_TOKEN)
+                .addStatement("return null")
+                .nextControlFlow("else if (token != $T.VALUE_STRING)", JSON_TOKEN)
+                .addStatement("return ($T) ctxt.handleUnexpectedToken($T.class, p)", dto, dto)
+                .endControlFlow()
+                .addStatement("String text = p.getText()")
+                .beginControlFlow("switch (text)");
+        enumValues.forEach(value -> method.addCode("case $S:\n$>", value)
+                .addStatement("return $T.$L", dto, value)
+                .addCode("$<"));
+        return method.addCode("default:\n$>")
+                .beginControlFlow("if (ctxt.isEnabled($T.READ_UNKNOWN_ENUM_VALUES_AS_NULL))", DESERIALIZATION_FEATURE)
+                .addStatement("return null")
+                .endControlFlow()
+                .addStatement("return ($T) ctxt.handleWeirdStringValue($T.class, text, $S)", dto, dto, "not one of the values of " + dto.simpleName())
+                .addCode("$<")
+                .endControlFlow()
+                .build();
+    }
+
+    private MethodSpec generateEnumWrite() {
+        return writer("write", dto)
+                .beginControlFlow("if (value == null)")
+                .addStatement("g.writeNull()")
+                .nextControlFlow("else")
+                .addStatement("g.writeString(value.name())")
+                .endControlFlow()
+                .build();
+    }
+
+    /**
+     * @return an expression reading a value of the type from the current token
+     */
+    private CodeBlock read(TypeName type, String field) {
+        if (isList(type)) {
+            return CodeBlock.of("$L(p, ctxt)", generateListRead((ParameterizedTypeName) type, field));
+        } else if (isDTO(type)) {
+            return CodeBlock.of("$T.read(p, ctxt)", codec(((ClassName) type).simpleName()));
+        }
+        String[] fastPath = FAST_PATHS.get(type);
+        if (fastPath == null) {
+            return CodeBlock.of("$T.readValue(p, ctxt, $T.class)", registry, type);
+        }
+        CodeBlock condition = fastPath[0] == null ?
+                CodeBlock.of("p.currentToken().isBoolean()") :
+                CodeBlock.of("p.currentToken() == $T.$L", JSON_TOKEN, fastPath[0]);
+        if (type.isPrimitive()) {
+            // null is read as the default value, or fails, depending on FAIL_ON_NULL_FOR_PRIMITIVES
+            return CodeBlock.of("$L ? p.$L() : ctxt.readValue(p, $T.class)", condition, fastPath[1], type);
+        } else if (type.equals(ClassName.get(String.class))) {
+            return CodeBlock.of("$L ? p.$L() : $T.readValue(p, ctxt, $T.class)", condition, fastPath[1], registry, type);
+        }
+        return CodeBlock.of("$L ? $T.valueOf(p.$L()) : $T.readValue(p, ctxt, $T.class)", condition, type, fastPath[1], registry, type);
+    }
+
+    /**
+     * @return the name of a helper method reading a list, from the START_ARRAY to its END_ARRAY
+     */
+    private String generateListRead(ParameterizedTypeName type, String field) {
+        String name = helperName("read", field);
+        TypeName item = type.typeArguments.get(0);
+        helpers.add(MethodSpec.methodBuilder(name)
+                .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(type)
+                .addParameter(JSON_PARSER, "p")
+                .addParameter(DESERIALIZATION_CONTEXT, "ctxt")
+                .addException(IOException.class)
+                .beginControlFlow("if (p.currentToken() == $T.VALUE_NULL)", JSON_TOKEN)
+                .addStatement("return null")
+                .nextControlFlow("else if (p.currentToken() != $T.START_ARRAY)", JSON_TOKEN)
+                .addStatement("return ($T) ctxt.handleUnexpectedToken($T.class, p)", type, type.rawType)
+                .endControlFlow()
+                .addStatement("$T list = new $T<>()", type, ArrayList.class)
+                .beginControlFlow("while (p.nextToken() != $T.END_ARRAY)", JSON_TOKEN)
+                .addStatement("list.add($L)", read(item, field))
+                .endControlFlow()
+                .addStatement("return list")
+                .build());
+        return name;
+    }
+
+    /**
+     * @return a statement writing the value, which isn't null
+     */
+    private CodeBlock write(TypeName type, CodeBlock value, String field) {
+        if (isList(type)) {
+            return CodeBlock.of("$L($L, g, provider)", generateListWrite((ParameterizedTypeName) type, field), value);
+        } else if (isDTO(type)) {
+            return CodeBlock.of("$T.write($L, g, provider)", codec(((ClassName) type).simpleName()), value);
+        }
+        return writeScalar(type, value);
+    }
+
+    /**
+     * @return a statement writing a value that isn't null, strings, numbers and booleans are written by the
+     * JsonGenerator, anything else by the ObjectMapper
+     */
+    static CodeBlock writeScalar(TypeName type, CodeBlock value) {
+        if (type.equals(ClassName.get(String.class))) {
+            return CodeBlock.of("g.writeString($L)", value);
+        } else if (FAST_PATHS.containsKey(type)) {
+            // boxed values are unboxed, as they are only written once they aren't null
+            return CodeBlock.of("g.$L($L)", type.equals(TypeName.BOOLEAN) || type.equals(TypeName.BOOLEAN.box()) ? "writeBoolean" : "writeNumber", value);
+        }
+        return CodeBlock.of("provider.defaultSerializeValue($L, g)", value);
+    }
+
+    private String generateListWrite(ParameterizedTypeName type, String field) {
+        String name = helperName("write", field);
+        TypeName item = type.typeArguments.get(0);
+        helpers.add(MethodSpec.methodBuilder(name)
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .addParameter(type, "list")
+                .addParameter(JSON_GENERATOR, "g")
+                .addParameter(SERIALIZER_PROVIDER, "provider")
+                .addException(IOException.class)
+                .beginControlFlow("if (list == null)")
+                .addStatement("g.writeNull()")
+                .addStatement("return")
+                .endControlFlow()
+                .addStatement("g.writeStartArray(list, list.size())")
+                .beginControlFlow("for ($T item : list)", item)
+                .beginControlFlow("if (item == null)")
+                .addStatement("g.writeNull()")
+                .nextControlFlow("else")
+                .addStatement(write(item, CodeBlock.of("item"), field))
+                .endControlFlow()
+                .endControlFlow()
+                .addStatement("g.writeEndArray()")
+                .build());
+        return name;
+    }
+
+    /**
+     * @return e.g. readFriendsList, or readFriendsList2 for the items of a list of lists
+     */
+    private String helperName(String prefix, String field) {
+        String name = prefix + StringUtils.capitalize(field.replaceFirst("^_+", "")) + "List";
+        String unique = name;
+        for (int i = 2; containsHelper(unique); i++) {
+            unique = name + i;
+        }
+        return unique;
+    }
+
+    private boolean containsHelper(String name) {
+        return helpers.stream().anyMatch(helper -> helper.name.equals(name));
+    }
+
+    private static boolean isList(TypeName type) {
+        return type instanceof ParameterizedTypeName &&
+                ((ParameterizedTypeName) type).rawType.equals(ClassName.get(List.class));
+    }
+
+    private boolean isDTO(TypeName type) {
+        return type instanceof ClassName &&
+                ((ClassName) type).packageName().equals(dto.packageName()) &&
+                dtos.contains(((ClassName) type).simpleName());
+    }
+
+    private ClassName codec(String dto) {
+        return ClassName.get(packageName, dto + "Codec");
+    }
+
+    private TypeSpec generateDeserializer() {
+        return TypeSpec.classBuilder("Deserializer")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(STD_DESERIALIZER, dto))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("super($T.class)", dto)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("deserialize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(dto)
+                        .addParameter(JSON_PARSER, "p")
+                        .addParameter(DESERIALIZATION_CONTEXT, "ctxt")
+                        .addException(IOException.class)
+                        .addStatement("return read(p, ctxt)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("deserializeWithType")
+                        .addJavadoc("The codecs read the __typename themselves\n")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(Object.class)
+                        .addParameter(JSON_PARSER, "p")
+                        .addParameter(DESERIALIZATION_CONTEXT, "ctxt")
+                        .addParameter(TYPE_DESERIALIZER, "typeDeserializer")
+                        .addException(IOException.class)
+                        .addStatement("return read(p, ctxt)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("isCachable")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(TypeName.BOOLEAN)
+                        .addStatement("return true")
+                        .build())
+                .build();
+    }
+
+    private TypeSpec generateSerializer() {
+        return TypeSpec.classBuilder("Serializer")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .superclass(ParameterizedTypeName.get(STD_SERIALIZER, dto))
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("super($T.class)", dto)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("serialize")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(dto, "value")
+                        .addParameter(JSON_GENERATOR, "g")
+                        .addParameter(SERIALIZER_PROVIDER, "provider")
+                        .addException(IOException.class)
+                        .addStatement("write(value, g, provider)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("serializeWithType")
+                        .addJavadoc("The codecs write the __typename themselves\n")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(dto, "value")
+                        .addParameter(JSON_GENERATOR, "g")
+                        .addParameter(SERIALIZER_PROVIDER, "provider")
+                        .addParameter(TYPE_SERIALIZER, "typeSerializer")
+                        .addException(IOException.class)
+                        .addStatement("write(value, g, provider)")
+                        .build())
+                .build();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.jacobmountain.graphql.client;
+
+import com.jacobmountain.graphql.client.utils.AnnotationUtils;
+import com.squareup.javapoet.*;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * Builds the GraphQLCodecs Jackson module, which registers the codec of every DTO of a schema, e.g.
+ * <pre>
+ * ObjectMapper mapper = new ObjectMapper().registerModule(new GraphQLCodecs());
+ * </pre>
+ * It also holds the helpers shared by the codecs.
+ */
+public class CodecRegistryBuilder extends GeneratedSource {
+
+    public static final String NAME = "GraphQLCodecs";
+
+    private static final ClassName SIMPLE_MODULE = ClassName.get("com.fasterxml.jackson.databind.module", "SimpleModule");
+
+    private static final ClassName JSON_INCLUDE = ClassName.get(AnnotationUtils.JACKSON_ANNOTATIONS_PACKAGE, "JsonInclude", "Include");
+
+    private final String dtoPackage;
+
+    private final Collection<String> dtos;
+
+    /**
+     * @param dtoPackage the package of the DTOs
+     * @param dtos       the names of the DTOs with codecs
+     */
+    public CodecRegistryBuilder(String dtoPackage, Collection<String> dtos) {
+        super(NAME, dtoPackage + "." + CodecBuilder.PACKAGE);
+        this.dtoPackage = dtoPackage;
+        this.dtos = dtos;
+    }
+
+    @Override
+    protected TypeSpec.Builder buildType() {
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addStatement("super($S)", NAME);
+        dtos.forEach(dto -> {
+            ClassName codec = ClassName.get(packageName, dto + "Codec");
+            constructor.addStatement("addDeserializer($T.class, new $T())", ClassName.get(dtoPackage, dto), codec.nestedClass("Deserializer"))
+                    .addStatement("addSerializer($T.class, new $T())", ClassName.get(dtoPackage, dto), codec.nestedClass("Serializer"));
+        });
+        TypeVariableName t = TypeVariableName.get("T");
+        return TypeSpec.classBuilder(name)
+                .addModifiers(Modifier.PUBLIC)
+                .addAnnotation(AnnotationUtils.generated())
+                .superclass(SIMPLE_MODULE)
+                .addMethod(constructor.build())
+                .addMethod(MethodSpec.methodBuilder("readValue")
+                        .addJavadoc("Reads a value the codecs don't read themselves with the ObjectMapper\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .addTypeVariable(t)
+                        .returns(t)
+                        .addParameter(CodecBuilder.JSON_PARSER, "p")
+                        .addParameter(CodecBuilder.DESERIALIZATION_CONTEXT, "ctxt")
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), t), "type")
+                        .addException(IOException.class)
+                        .beginControlFlow("if (p.currentToken() == $T.VALUE_NULL)", CodecBuilder.JSON_TOKEN)
+                        .addStatement("return null")
+                        .endControlFlow()
+                        .addStatement("return ctxt.readValue(p, type)")
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("writeNulls")
+                        .addJavadoc("Whether null fields are written, which they are unless the ObjectMapper's default inclusion leaves them out\n")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(TypeName.BOOLEAN)
+                        .addParameter(CodecBuilder.SERIALIZER_PROVIDER, "provider")
+                        .addParameter(ParameterizedTypeName.get(ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)), "type")
+                        .addStatement("$T include = provider.getConfig().getDefaultPropertyInclusion(type).getValueInclusion()", JSON_INCLUDE)
+                        .addStatement("return include == $T.ALWAYS || include == $T.USE_DEFAULTS", JSON_INCLUDE, JSON_INCLUDE)
+                        .build());
+    }
+
+}
@@ -1,8 +1,7 @@
 package com.jacobmountain.graphql.client;
 
+import com.jacobmountain.graphql.client.utils.WorkerPool;
 import graphql.language.*;
-import lombok.AllArgsConstructor;
-import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -10,20 +9,38 @@ import java.util.*;
 @Slf4j
 public class DTOGenerator {
 
+    /**
+     * The number of types built per worker before they are written, and discarded
+     */
+    private static final int BATCH_SIZE_PER_WORKER = 4;
+
     private final FileWriter filer;
 
     private final TypeMapper typeMapper;
 
-    private final Map<String, PojoBuilder> types = new HashMap<>();
+    private final String packageName;
 
-    private final List<Implements> toImplement = new ArrayList<>();
+    private final WorkerPool workers;
 
-    private final String packageName;
+    private final boolean codecs;
 
     public DTOGenerator(String packageName, FileWriter filer, TypeMapper typeMapper) {
+        this(packageName, filer, typeMapper, WorkerPool.SEQUENTIAL);
+    }
+
+    public DTOGenerator(String packageName, FileWriter filer, TypeMapper typeMapper, WorkerPool workers) {
+        this(packageName, filer, typeMapper, workers, false);
+    }
+
+    /**
+     * @param codecs whether each DTO also gets a codec reading and writing it without reflection, see CodecBuilder
+     */
+    public DTOGenerator(String packageName, FileWriter filer, TypeMapper typeMapper, WorkerPool workers, boolean codecs) {
         this.packageName = packageName;
         this.filer = filer;
         this.typeMapper = typeMapper;
+        this.workers = workers;
+        this.codecs = codecs;
     }
 
     /**
@@ -32,87 +49,178 @@ public class DTOGenerator {
      * @param types the type definitions from the GraphQL schema
      */
     public void generate(Collection<TypeDefinition> types) {
-        types.forEach(this::generateDTO);
-        toImplement.forEach(impl -> {
-            this.types.get(impl.subtype).implement(impl.superType);
-            this.types.get(impl.superType).withSubType(impl.subtype);
+        generate(types, ReachableTypes.all());
+    }
+
+    /**
+     * Generates the types according to the GraphQL schema, skipping any type or field that can't be reached.
+     * <p>
+     * The supertypes and subtypes of every type are indexed up front from the type definitions, so each type can then be
+     * built, written and discarded in turn, only a batch of types is held in memory at once rather than the whole schema.
+     *
+     * @param types     the type definitions from the GraphQL schema
+     * @param reachable the types and fields to generate
+     */
+    public void generate(Collection<TypeDefinition> types, ReachableTypes reachable) {
+        List<TypeDefinition<?>> definitions = new ArrayList<>();
+        types.stream()
+                .filter(type -> reachable.isReachable(type.getName()))
+                .filter(DTOGenerator::isGenerated)
+                .forEach(definitions::add);
+        Map<String, TypeDefinition<?>> generated = new TreeMap<>();
+        definitions.forEach(type -> generated.put(type.getName(), type));
+        Hierarchy hierarchy = new Hierarchy(definitions, generated.keySet());
+        // build and render a batch of types in parallel, then write them from this thread in a stable order
+        int batchSize = workers.getParallelism() * BATCH_SIZE_PER_WORKER;
+        List<TypeDefinition<?>> batch = new ArrayList<>(batchSize);
+        for (TypeDefinition<?> type : generated.values()) {
+            batch.add(type);
+            if (batch.size() == batchSize) {
+                generateBatch(batch, hierarchy, reachable, generated.keySet());
+                batch.clear();
+            }
+        }
+        generateBatch(batch, hierarchy, reachable, generated.keySet());
+        if (codecs) {
+            filer.write(new CodecRegistryBuilder(packageName, generated.keySet()));
+        }
+    }
+
+    private void generateBatch(List<TypeDefinition<?>> batch, Hierarchy hierarchy, ReachableTypes reachable, Set<String> generated) {
+        List<List<SourceFile>> files = workers.map(batch, type -> {
+            List<SourceFile> sources = new ArrayList<>();
+            sources.add(generateDTO(type, hierarchy, reachable));
+            if (codecs) {
+                sources.add(generateCodec(type, hierarchy, reachable, generated));
+            }
+            sources.forEach(filer::prepare);
+            return sources;
         });
-        this.types.values().forEach(filer::write);
+        files.forEach(sources -> sources.forEach(filer::write));
     }
 
-    private void generateDTO(TypeDefinition<?> td) {
+    private static boolean isGenerated(TypeDefinition<?> td) {
+        if (td instanceof InterfaceTypeDefinition ||
+                td instanceof ObjectTypeDefinition ||
+                td instanceof InputObjectTypeDefinition ||
+                td instanceof EnumTypeDefinition ||
+                td instanceof UnionTypeDefinition) {
+            return true;
+        }
+        log.info("{}", td);
+        log.info("Unexpected type definition {}", td.getClass());
+        return false;
+    }
+
+    private PojoBuilder generateDTO(TypeDefinition<?> td, Hierarchy hierarchy, ReachableTypes reachable) {
         PojoBuilder pojo = builder(td);
-        if (pojo == null) {
-            return;
+        getFields(td, reachable).forEach((name, type) -> pojo.withField(typeMapper.getType(type), name));
+        if (td instanceof EnumTypeDefinition) {
+            EnumTypeDefinition enumTypeDefinition = (EnumTypeDefinition) td;
+            enumTypeDefinition.getEnumValueDefinitions()
+                    .forEach(pojo::withEnumValue);
         }
+        hierarchy.getSuperTypes(td.getName()).forEach(pojo::implement);
+        hierarchy.getSubTypes(td.getName()).forEach(pojo::withSubType);
+        pojo.finalise();
+        return pojo;
+    }
+
+    private CodecBuilder generateCodec(TypeDefinition<?> td, Hierarchy hierarchy, ReachableTypes reachable, Set<String> generated) {
+        CodecBuilder codec = new CodecBuilder(getType(td), td.getName(), packageName, generated);
+        getFields(td, reachable).forEach((name, type) -> codec.withField(typeMapper.getType(type), name));
+        if (td instanceof EnumTypeDefinition) {
+            ((EnumTypeDefinition) td).getEnumValueDefinitions()
+                    .forEach(it -> codec.withEnumValue(it.getName()));
+        }
+        hierarchy.getSuperTypes(td.getName()).forEach(codec::withSuperType);
+        hierarchy.getSubTypes(td.getName()).forEach(codec::withSubType);
+        return codec;
+    }
+
+    /**
+     * @return the fields of an object or interface, or the input values of an input, in the order they are generated
+     */
+    private static Map<String, Type<?>> getFields(TypeDefinition<?> td, ReachableTypes reachable) {
+        Map<String, Type<?>> fields = new LinkedHashMap<>();
         td.getChildren()
                 .stream()
-                .filter(it -> it instanceof NamedNode)
-                .filter(it -> !((NamedNode<?>) it).getName().startsWith("_"))
-                .forEach(it -> {
-                    if (it instanceof FieldDefinition) {
-                        FieldDefinition named = (FieldDefinition) it;
-                        pojo.withField(
-                                typeMapper.getType(named.getType()),
-                                named.getName()
-                        );
-                    }
-                });
+                .filter(it -> it instanceof FieldDefinition)
+                .map(it -> (FieldDefinition) it)
+                .filter(it -> !it.getName().startsWith("_"))
+                .filter(it -> reachable.isReachable(td.getName(), it.getName()))
+                .forEach(it -> fields.put(it.getName(), it.getType()));
         if (td instanceof InputObjectTypeDefinition) {
-            InputObjectTypeDefinition inputObjectTypeDefinition = (InputObjectTypeDefinition) td;
-            inputObjectTypeDefinition.getInputValueDefinitions()
-                    .forEach(it -> pojo.withField(
-                            typeMapper.getType(it.getType()),
-                            it.getName()
-                    ));
+            ((InputObjectTypeDefinition) td).getInputValueDefinitions()
+                    .forEach(it -> fields.put(it.getName(), it.getType()));
+        }
+        return fields;
+    }
+
+    private static PojoBuilder.Type getType(TypeDefinition<?> td) {
+        if (td instanceof InterfaceTypeDefinition) {
+            return PojoBuilder.Type.Interface;
+        } else if (td instanceof UnionTypeDefinition) {
+            return PojoBuilder.Type.Union;
         } else if (td instanceof EnumTypeDefinition) {
-            EnumTypeDefinition enumTypeDefinition = (EnumTypeDefinition) td;
-            enumTypeDefinition.getEnumValueDefinitions()
-                    .forEach(pojo::withEnumValue);
+            return PojoBuilder.Type.Enum;
         }
-        types.put(td.getName(), pojo);
-        pojo.finalise();
+        return PojoBuilder.Type.Class;
     }
 
     private PojoBuilder builder(TypeDefinition<?> td) {
         if (td instanceof InterfaceTypeDefinition) {
             return PojoBuilder.newInterface(td.getName(), packageName);
         } else if (td instanceof ObjectTypeDefinition) {
-            PojoBuilder builder = PojoBuilder.newType(td.getName(), packageName);
-            ObjectTypeDefinition otd = ((ObjectTypeDefinition) td);
-            otd.getImplements().forEach(supertype -> {
-                toImplement.add(new Implements(((NamedNode<?>) supertype).getName(), td.getName()));
-            });
-            return builder;
+            return PojoBuilder.newType(td.getName(), packageName);
         } else if (td instanceof InputObjectTypeDefinition) {
             return PojoBuilder.newInput(td.getName(), packageName);
         } else if (td instanceof EnumTypeDefinition) {
             return PojoBuilder.newEnum(td.getName(), packageName);
         } else if (td instanceof UnionTypeDefinition) {
-            UnionTypeDefinition utd = (UnionTypeDefinition) td;
-            PojoBuilder builder = PojoBuilder.newUnion(td.getName(), packageName);
-            utd.getMemberTypes().forEach(supertype -> {
-                // POJO implements interface
-                String member = ((graphql.language.TypeName) supertype).getName();
-                // interface has POJO as subtype
-                toImplement.add(new Implements(td.getName(), member));
-            });
-            return builder;
+            return PojoBuilder.newUnion(td.getName(), packageName);
         }
-        log.info("{}", td);
-        log.info("Unexpected type definition {}", td.getClass());
-        return null;
+        throw new IllegalArgumentException("Unexpected type definition " + td.getClass());
     }
 
-    @Data
-    @AllArgsConstructor
-    static class Implements {
+    /**
+     * The supertypes (interfaces and unions) and subtypes of each generated type, in the order they are declared in the
+     * schema
+     */
+    static class Hierarchy {
+
+        private final Map<String, List<String>> superTypes = new HashMap<>();
 
-        private String superType;
+        private final Map<String, List<String>> subTypes = new HashMap<>();
 
-        private String subtype;
+        Hierarchy(Collection<TypeDefinition<?>> types, Set<String> generated) {
+            types.forEach(td -> {
+                if (td instanceof ObjectTypeDefinition) {
+                    ((ObjectTypeDefinition) td).getImplements()
+                            .forEach(supertype -> add(((NamedNode<?>) supertype).getName(), td.getName(), generated));
+                } else if (td instanceof UnionTypeDefinition) {
+                    ((UnionTypeDefinition) td).getMemberTypes()
+                            .forEach(member -> add(td.getName(), ((NamedNode<?>) member).getName(), generated));
+                }
+            });
+        }
+
+        private void add(String superType, String subtype, Set<String> generated) {
+            if (!generated.contains(superType) || !generated.contains(subtype)) {
+                return;
+            }
+            superTypes.computeIfAbsent(subtype, it -> new ArrayList<>()).add(superType);
+            subTypes.computeIfAbsent(superType, it -> new ArrayList<>()).add(subtype);
+        }
+
+        List<String> getSuperTypes(String type) {
+            return superTypes.getOrDefault(type, Collections.emptyList());
+        }
+
+        List<String> getSubTypes(String type) {
+            return subTypes.getOrDefault(type, Collections.emptyList());
+        }
 
     }
 
 }
-
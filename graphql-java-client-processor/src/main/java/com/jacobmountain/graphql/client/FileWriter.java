@@ -1,22 +1,93 @@
 package com.jacobmountain.graphql.client;
 
-import lombok.RequiredArgsConstructor;
+import com.jacobmountain.graphql.client.report.Phase;
+import com.jacobmountain.graphql.client.report.Stopwatch;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.JavaFileObject;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
 
 @Slf4j
-@RequiredArgsConstructor
 public class FileWriter {
 
     private final Filer filer;
 
-    public void write(PojoBuilder builder) {
+    private final Path directory;
+
+    private final Collection<? extends Element> originatingElements;
+
+    /**
+     * The time spent, and memory allocated, writing the files
+     */
+    @Getter
+    private final Phase written = new Phase();
+
+    @Getter
+    private int files;
+
+    @Getter
+    private int failures;
+
+    public FileWriter(Filer filer) {
+        this(filer, Collections.emptyList());
+    }
+
+    public FileWriter(Filer filer, Collection<? extends Element> originatingElements) {
+        this.filer = filer;
+        this.directory = null;
+        this.originatingElements = originatingElements;
+    }
+
+    /**
+     * Writes the sources straight to a directory, for generating outside of annotation processing
+     *
+     * @param directory the root of the generated sources
+     */
+    public FileWriter(Path directory) {
+        this.filer = null;
+        this.directory = directory;
+        this.originatingElements = Collections.emptyList();
+    }
+
+    /**
+     * Builds and renders the source of a type ahead of it being written, unlike write this does not touch the Filer,
+     * so is safe to call from any thread
+     *
+     * @param builder the type to prepare
+     */
+    public void prepare(SourceFile builder) {
+        builder.withOriginatingElements(originatingElements)
+                .getSource();
+    }
+
+    public void write(SourceFile builder) {
+        prepare(builder);
+        Stopwatch stopwatch = Stopwatch.currentThread();
         try {
-            builder.build().writeTo(filer);
+            if (directory != null) {
+                Path file = directory.resolve(builder.getFQDN().replace('.', '/') + ".java");
+                Files.createDirectories(file.getParent());
+                Files.write(file, builder.getSource().getBytes(StandardCharsets.UTF_8));
+            } else {
+                JavaFileObject file = filer.createSourceFile(builder.getFQDN(), builder.build().typeSpec.originatingElements.toArray(new Element[0]));
+                try (Writer writer = file.openWriter()) {
+                    writer.write(builder.getSource());
+                }
+            }
+            files++;
         } catch (Exception e) {
+            failures++;
             log.error("Failed to create class", e);
         }
+        written.add(stopwatch.stop());
     }
 
 }
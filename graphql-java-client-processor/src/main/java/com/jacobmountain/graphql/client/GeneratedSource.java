@@ -0,0 +1,64 @@
+package com.jacobmountain.graphql.client;
+
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Element;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A source file of a single type, which is built, and rendered, at most once
+ */
+abstract class GeneratedSource implements SourceFile {
+
+    protected final String name;
+
+    protected final String packageName;
+
+    private final Set<Element> originatingElements = new LinkedHashSet<>();
+
+    private JavaFile javaFile;
+
+    private String source;
+
+    GeneratedSource(String name, String packageName) {
+        this.name = name;
+        this.packageName = packageName;
+    }
+
+    protected abstract TypeSpec.Builder buildType();
+
+    @Override
+    public String getFQDN() {
+        return packageName + "." + name;
+    }
+
+    @Override
+    public GeneratedSource withOriginatingElements(Collection<? extends Element> elements) {
+        originatingElements.addAll(elements);
+        return this;
+    }
+
+    @Override
+    public synchronized JavaFile build() {
+        if (javaFile == null) {
+            TypeSpec.Builder type = buildType();
+            originatingElements.forEach(type::addOriginatingElement);
+            javaFile = JavaFile.builder(packageName, type.build())
+                    .indent("\t")
+                    .build();
+        }
+        return javaFile;
+    }
+
+    @Override
+    public synchronized String getSource() {
+        if (source == null) {
+            source = build().toString();
+        }
+        return source;
+    }
+
+}
@@ -2,9 +2,22 @@ package com.jacobmountain.graphql.client;
 
 import com.google.auto.service.AutoService;
 import com.jacobmountain.graphql.client.annotations.GraphQLClient;
+import com.jacobmountain.graphql.client.exceptions.InvalidProjectionException;
 import com.jacobmountain.graphql.client.exceptions.SchemaNotFoundException;
+import com.jacobmountain.graphql.client.query.ast.QueryStyle;
+import com.jacobmountain.graphql.client.query.QueryCost;
+import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.report.ClientReport;
+import com.jacobmountain.graphql.client.report.MethodReport;
+import com.jacobmountain.graphql.client.report.ProcessorReport;
+import com.jacobmountain.graphql.client.report.SchemaReport;
+import com.jacobmountain.graphql.client.report.Stopwatch;
 import com.jacobmountain.graphql.client.utils.Schema;
+import com.jacobmountain.graphql.client.utils.SchemaCache;
 import com.jacobmountain.graphql.client.utils.StringUtils;
+import com.jacobmountain.graphql.client.utils.WorkerPool;
+import com.jacobmountain.graphql.client.visitor.MethodDetails;
+import com.jacobmountain.graphql.client.visitor.MethodDetailsVisitor;
 import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.Value;
@@ -14,6 +27,7 @@ import javax.annotation.processing.*;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.TypeElement;
 import javax.tools.Diagnostic;
 import javax.tools.FileObject;
@@ -21,25 +35,93 @@ import javax.tools.StandardLocation;
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Arrays;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.function.Predicate;
+import java.util.*;
+import java.util.stream.Stream;
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toList;
 
 @Slf4j
 @AutoService(Processor.class)
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 @SupportedAnnotationTypes("com.jacobmountain.graphql.client.*")
+@SupportedOptions({
+        GraphQLClientProcessor.SCHEMA_SNAPSHOTS_OPTION,
+        GraphQLClientProcessor.QUERY_STYLE_OPTION,
+        GraphQLClientProcessor.PARALLELISM_OPTION,
+        GraphQLClientProcessor.REPORT_OPTION,
+        GraphQLClientProcessor.DEFAULT_LIST_SIZE_OPTION,
+        GraphQLClientProcessor.COST_WARNINGS_OPTION,
+        GraphQLClientProcessor.NAMED_FRAGMENTS_OPTION,
+        GraphQLClientProcessor.OPERATIONS_OPTION,
+        GraphQLClientProcessor.CODECS_OPTION
+})
 public class GraphQLClientProcessor extends AbstractProcessor {
 
+    /**
+     * Whether parsed schemas are stored as binary snapshots in the build directory, and reused by later builds while
+     * the schema file is unchanged (default true)
+     */
+    public static final String SCHEMA_SNAPSHOTS_OPTION = "graphql.client.schemaSnapshots";
+
+    /**
+     * How the generated queries are formatted, one of compact, minified or pretty (default compact)
+     */
+    public static final String QUERY_STYLE_OPTION = "graphql.client.queryStyle";
+
+    /**
+     * The number of threads used to generate code, 1 generates everything on the compiler thread (default the number
+     * of available processors)
+     */
+    public static final String PARALLELISM_OPTION = "graphql.client.parallelism";
+
+    /**
+     * Whether the time spent in each phase, and the size of each generated query, is written to a JSON report in the
+     * build directory (default true)
+     */
+    public static final String REPORT_OPTION = "graphql.client.report";
+
+    /**
+     * The expected size of a list without a default first/last argument, when estimating the cost of a query (default 10)
+     */
+    public static final String DEFAULT_LIST_SIZE_OPTION = "graphql.client.defaultListSize";
+
+    /**
+     * Whether queries over their maxCost are reported as warnings rather than errors (default false)
+     */
+    public static final String COST_WARNINGS_OPTION = "graphql.client.costWarnings";
+
+    /**
+     * Whether the selection sets repeated within a query are hoisted into named fragments (default false)
+     */
+    public static final String NAMED_FRAGMENTS_OPTION = "graphql.client.namedFragments";
+
+    /**
+     * Whether each client also gets a {Client}Operations class, holding the document and hash of its operations, and a
+     * manifest of them under META-INF/graphql-java-client/operations (default true)
+     */
+    public static final String OPERATIONS_OPTION = "graphql.client.operations";
+
+    /**
+     * Whether each DTO also gets a codec, reading and writing it with Jackson's streaming API rather than reflection,
+     * and the GraphQLCodecs module registering them in the codec package of the DTOs (default false)
+     */
+    public static final String CODECS_OPTION = "graphql.client.codecs";
+
     private Filer filer;
 
     private Messager messager;
 
-    private Path root;
+    private Path buildDir;
+
+    private String sourceSet;
+
+    private final ProcessorReport report = new ProcessorReport();
+
+    private SchemaCache schemas;
+
+    private final Map<String, TypeMapper> typeMappers = new HashMap<>();
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -50,6 +132,20 @@ public class GraphQLClientProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        try (WorkerPool workers = new WorkerPool(getParallelism())) {
+            Stopwatch round = Stopwatch.withWorkers(workers);
+            try {
+                return process(roundEnv, workers);
+            } finally {
+                report.getTotal().add(round.stop());
+                if (roundEnv.processingOver()) {
+                    writeReport();
+                }
+            }
+        }
+    }
+
+    private boolean process(RoundEnvironment roundEnv, WorkerPool workers) {
         Set<? extends Element> elements = roundEnv.getElementsAnnotatedWith(GraphQLClient.class);
         for (Element el : elements) {
             if (!(el.getKind() == ElementKind.CLASS || el.getKind() == ElementKind.INTERFACE)) {
@@ -61,49 +157,217 @@ public class GraphQLClientProcessor extends AbstractProcessor {
                 .map(el -> (TypeElement) el)
                 .map(Input::new)
                 .collect(toList());
-        interfaces.stream()
-                .filter(new OncePerSchemaPredicate())
-                .forEach(this::generateJavaDataClasses);
-        return interfaces.stream()
-                .peek(this::generateClientImplementation)
-                .count() > 0;
+        if (interfaces.isEmpty()) {
+            return false;
+        }
+        Collection<List<Input>> schemas = interfaces.stream()
+                .collect(groupingBy(input -> input.getAnnotation().schema(), LinkedHashMap::new, toList()))
+                .values();
+        loadSchemas(schemas, workers);
+        schemas.stream()
+                .filter(clients -> clients.stream().anyMatch(client -> client.getAnnotation().generateDtos()))
+                .forEach(clients -> generateJavaDataClasses(clients, workers));
+        interfaces.forEach(client -> generateClientImplementation(client, workers));
+        return true;
     }
 
-    private static class OncePerSchemaPredicate implements Predicate<Input> {
-        private final Set<String> schemas = new HashSet<>();
-
-        @Override
-        public boolean test(Input input) {
-            return schemas.add(input.getAnnotation().schema());
-        }
+    /**
+     * Parses the schemas in parallel, ahead of generating their DTOs and clients
+     */
+    private void loadSchemas(Collection<List<Input>> schemas, WorkerPool workers) {
+        SchemaCache cache = getSchemas();
+        Map<String, File> files = schemas.stream()
+                .map(clients -> clients.get(0))
+                .filter(input -> StringUtils.hasLength(input.getAnnotation().schema()))
+                .collect(toMap(input -> input.getAnnotation().schema(), Input::getSchemaFile, (a, b) -> a, LinkedHashMap::new));
+        // registered up front, so the report lists the schemas in the same order on every build
+        files.keySet().forEach(report::schema);
+        workers.forEach(files.entrySet(), schema -> {
+            Stopwatch stopwatch = Stopwatch.currentThread();
+            try {
+                cache.get(schema.getValue());
+            } catch (Exception e) {
+                // reported when the schema is used
+                log.debug("Failed to load schema {}", schema.getValue(), e);
+            }
+            report.schema(schema.getKey()).phase("load").add(stopwatch.stop());
+        });
     }
 
-    private void generateJavaDataClasses(Input input) {
+    /**
+     * Generates the DTOs once per schema, every client using the schema is an originating element of the DTOs, so
+     * incremental builds know to regenerate them when any of those clients change
+     *
+     * @param clients the clients sharing the same schema
+     */
+    private void generateJavaDataClasses(List<Input> clients, WorkerPool workers) {
         log.info("Generating java classes from GraphQL schema");
-        DTOGenerator dtoGenerator = new DTOGenerator(input.getDtoPackage(), new FileWriter(this.filer), input.getTypeMapper());
-        dtoGenerator.generate(input.getSchema().types().values());
+        Input input = clients.get(0);
+        SchemaReport schemaReport = report.schema(input.getAnnotation().schema());
+        List<TypeElement> originatingElements = clients.stream()
+                .map(Input::getElement)
+                .collect(toList());
+        Stopwatch reachability = Stopwatch.currentThread();
+        ReachableTypes reachable = getReachableTypes(clients);
+        schemaReport.phase("reachability").add(reachability.stop());
+
+        Stopwatch generation = Stopwatch.withWorkers(workers);
+        FileWriter writer = new FileWriter(this.filer, originatingElements);
+        boolean codecs = "true".equalsIgnoreCase(processingEnv.getOptions().get(CODECS_OPTION));
+        DTOGenerator dtoGenerator = new DTOGenerator(input.getDtoPackage(), writer, input.getTypeMapper(), workers, codecs);
+        dtoGenerator.generate(input.getSchema().types().values(), reachable);
+        schemaReport.phase("dtos").add(generation.stop().minus(writer.getWritten()));
+        schemaReport.phase("write").add(writer.getWritten());
+        schemaReport.getTypes().addAndGet(writer.getFiles());
+    }
+
+    /**
+     * The DTOs are shared by every client of a schema, so they can only be limited to the reachable types when all of
+     * the clients ask for it
+     */
+    private ReachableTypes getReachableTypes(List<Input> clients) {
+        if (!clients.stream().allMatch(client -> client.getAnnotation().onlyReachableTypes())) {
+            return ReachableTypes.all();
+        }
+        Schema schema = clients.get(0).getSchema();
+        List<MethodDetails> methods;
+        try {
+            methods = clients.stream()
+                    .flatMap(client -> client.getElement()
+                            .getEnclosedElements()
+                            .stream()
+                            .map(method -> method.accept(new MethodDetailsVisitor(schema), client.getTypeMapper()))
+                    )
+                    .collect(toList());
+        } catch (InvalidProjectionException e) {
+            // reported on the method when its client is generated
+            log.debug("Failed to find the reachable types", e);
+            return ReachableTypes.all();
+        }
+        // the same budgets as the clients' queries, fragments aren't hoisted as they don't change the fields selected
+        QueryGenerator queryGenerator = new QueryGenerator(schema, getQueryStyle(), new QueryCost(schema, getDefaultListSize()));
+        return ReachableTypes.of(schema, queryGenerator, methods);
     }
 
-    private void generateClientImplementation(Input client) {
+    private void generateClientImplementation(Input client, WorkerPool workers) {
         GraphQLClient annotation = client.getAnnotation();
         log.info("Generating java implementation of {}", client.element.getSimpleName());
-        new ClientGenerator(this.filer, client.getTypeMapper(), client.getPackage(), client.getDtoPackage(), client.getSchema(), annotation.reactive())
-                .generate(client.element, annotation.implSuffix());
+        ClientReport clientReport = report.client(client.element.getQualifiedName().toString(), annotation.schema());
+        boolean namedFragments = "true".equalsIgnoreCase(processingEnv.getOptions().get(NAMED_FRAGMENTS_OPTION));
+        boolean operations = !"false".equalsIgnoreCase(processingEnv.getOptions().get(OPERATIONS_OPTION));
+        boolean codecs = "true".equalsIgnoreCase(processingEnv.getOptions().get(CODECS_OPTION));
+        Map<ExecutableElement, MethodReport> methods;
+        try {
+            methods = new ClientGenerator(this.filer, client.getTypeMapper(), client.getPackage(), client.getDtoPackage(), client.getSchema(), annotation.reactive(), getQueryStyle(), getDefaultListSize(), namedFragments, operations, codecs, workers)
+                    .generate(client.element, annotation.implSuffix(), clientReport);
+        } catch (InvalidProjectionException e) {
+            Stream.concat(Stream.of(e), Arrays.stream(e.getSuppressed()))
+                    .map(InvalidProjectionException.class::cast)
+                    .forEach(invalid -> messager.printMessage(Diagnostic.Kind.ERROR, invalid.getMessage(), invalid.getElement() != null ? invalid.getElement() : client.element));
+            return;
+        }
+        checkCosts(methods);
+    }
+
+    /**
+     * Reports every method whose query is estimated to cost more than its maxCost, on the method itself
+     *
+     * @param methods the report of each method of a client, by the method
+     */
+    private void checkCosts(Map<ExecutableElement, MethodReport> methods) {
+        boolean warnings = "true".equalsIgnoreCase(processingEnv.getOptions().get(COST_WARNINGS_OPTION));
+        methods.forEach((element, method) -> {
+            if (method.isOverBudget()) {
+                messager.printMessage(
+                        warnings ? Diagnostic.Kind.WARNING : Diagnostic.Kind.ERROR,
+                        String.format("The query of %s has an estimated cost of %d, over its maxCost of %d", method.getName(), method.getCost(), method.getMaxCost()),
+                        element
+                );
+            }
+        });
+    }
+
+    /**
+     * Writes the report to build/reports/graphql-java-client/{sourceSet}.json once every round is over, and prints a
+     * one line summary
+     */
+    private void writeReport() {
+        if (report.isEmpty() || "false".equalsIgnoreCase(processingEnv.getOptions().get(REPORT_OPTION))) {
+            return;
+        }
+        Path file = getBuildDir().resolve("reports/graphql-java-client/" + sourceSet + ".json");
+        try {
+            report.write(file);
+        } catch (Exception e) {
+            log.warn("Failed to write the report to {}", file, e);
+        }
+        messager.printMessage(Diagnostic.Kind.NOTE, report.summary());
     }
 
     @SneakyThrows
-    private Path getRoot() {
-        if (root == null) {
+    private Path getBuildDir() {
+        if (buildDir == null) {
             FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", "tmp", (Element[]) null);
-            root = Paths.get(resource.toUri())
-                    .getParent() // main
+            Path classes = Paths.get(resource.toUri()).getParent();
+            sourceSet = classes.getFileName().toString();
+            buildDir = classes
                     .getParent() // java
                     .getParent() // classes
-                    .getParent() // build
-                    .getParent();// project
+                    .getParent();// build
             resource.delete();
         }
-        return root;
+        return buildDir;
+    }
+
+    private Path getRoot() {
+        return getBuildDir().getParent();
+    }
+
+    private SchemaCache getSchemas() {
+        if (schemas == null) {
+            boolean snapshots = !"false".equalsIgnoreCase(processingEnv.getOptions().get(SCHEMA_SNAPSHOTS_OPTION));
+            schemas = snapshots ? new SchemaCache(getBuildDir().resolve("tmp/graphql-java-client/schemas")) : new SchemaCache();
+        }
+        return schemas;
+    }
+
+    private int getParallelism() {
+        String parallelism = processingEnv.getOptions().get(PARALLELISM_OPTION);
+        if (StringUtils.isEmpty(parallelism)) {
+            return Runtime.getRuntime().availableProcessors();
+        }
+        try {
+            return Math.max(1, Integer.parseInt(parallelism.trim()));
+        } catch (NumberFormatException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Invalid parallelism: " + parallelism);
+            return 1;
+        }
+    }
+
+    private int getDefaultListSize() {
+        String size = processingEnv.getOptions().get(DEFAULT_LIST_SIZE_OPTION);
+        if (StringUtils.isEmpty(size)) {
+            return QueryCost.DEFAULT_LIST_SIZE;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(size.trim()));
+        } catch (NumberFormatException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Invalid default list size: " + size);
+            return QueryCost.DEFAULT_LIST_SIZE;
+        }
+    }
+
+    private QueryStyle getQueryStyle() {
+        String style = processingEnv.getOptions().get(QUERY_STYLE_OPTION);
+        if (StringUtils.isEmpty(style)) {
+            return QueryStyle.COMPACT;
+        }
+        try {
+            return QueryStyle.valueOf(style.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Unknown query style: " + style);
+            return QueryStyle.COMPACT;
+        }
     }
 
     @Value
@@ -117,7 +381,9 @@ public class GraphQLClientProcessor extends AbstractProcessor {
         }
 
         TypeMapper getTypeMapper() {
-            return new TypeMapper(getDtoPackage(), getAnnotation().mapping());
+            GraphQLClient.Scalar[] mapping = getAnnotation().mapping();
+            String key = getDtoPackage() + Arrays.toString(mapping);
+            return typeMappers.computeIfAbsent(key, it -> new TypeMapper(getDtoPackage(), mapping));
         }
 
         String getDtoPackage() {
@@ -136,8 +402,7 @@ public class GraphQLClientProcessor extends AbstractProcessor {
             File file = getSchemaFile();
             try {
                 if (StringUtils.hasLength(value)) {
-                    log.info("Reading schema {}", file);
-                    return new Schema(getSchemaFile());
+                    return getSchemas().get(file);
                 }
             } catch (Exception e) {
                 e.printStackTrace();
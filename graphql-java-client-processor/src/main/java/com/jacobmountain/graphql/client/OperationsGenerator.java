@@ -0,0 +1,138 @@
+package com.jacobmountain.graphql.client;
+
+import com.jacobmountain.graphql.client.report.Json;
+import com.jacobmountain.graphql.client.utils.AnnotationUtils;
+import com.jacobmountain.graphql.client.utils.StringUtils;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import lombok.Value;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates the operations of a client ahead of time, for servers that only accept trusted documents: a
+ * {Client}Operations class holding the document and hash of each operation as constants, e.g. HERO and HERO_HASH, and a
+ * manifest listing them, META-INF/graphql-java-client/operations/{client}.json, to load every operation at startup.
+ * <p>
+ * An operation generated for more than one method is only listed once, and operations of the same name with different
+ * documents are numbered, e.g. HERO_2.
+ */
+public class OperationsGenerator {
+
+    public static final String MANIFEST_DIRECTORY = "META-INF/graphql-java-client/operations/";
+
+    private final Filer filer;
+
+    private final String packageName;
+
+    public OperationsGenerator(Filer filer, String packageName) {
+        this.filer = filer;
+        this.packageName = packageName;
+    }
+
+    public void generate(TypeElement client, List<Operation> operations) throws Exception {
+        Map<String, Operation> constants = getConstants(operations);
+        writeClass(client, constants);
+        writeManifest(client, constants.values());
+    }
+
+    /**
+     * @return the operations by the names of their constants, without repeats, in the order they were generated. No
+     * constant, or the _HASH field that goes with it, has the name of another's
+     */
+    static Map<String, Operation> getConstants(List<Operation> operations) {
+        Map<String, Operation> constants = new LinkedHashMap<>();
+        Set<String> hashes = new HashSet<>();
+        Set<String> fields = new HashSet<>();
+        for (Operation operation : operations) {
+            if (!hashes.add(operation.getHash())) {
+                continue;
+            }
+            String name = StringUtils.constantCase(operation.getName());
+            String constant = name;
+            for (int i = 2; fields.contains(constant) || fields.contains(constant + "_HASH"); i++) {
+                constant = name + "_" + i;
+            }
+            fields.add(constant);
+            fields.add(constant + "_HASH");
+            constants.put(constant, operation);
+        }
+        return constants;
+    }
+
+    private void writeClass(TypeElement client, Map<String, Operation> constants) throws Exception {
+        TypeSpec.Builder builder = TypeSpec.classBuilder(client.getSimpleName() + "Operations")
+                .addOriginatingElement(client)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addAnnotation(AnnotationUtils.generated())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build());
+        constants.forEach((constant, operation) -> {
+            builder.addField(FieldSpec.builder(String.class, constant, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addJavadoc("The $L $L, selecting $L\n", operation.getType(), operation.getName(), operation.getField())
+                    .initializer("$S", operation.getDocument())
+                    .build());
+            builder.addField(FieldSpec.builder(String.class, constant + "_HASH", Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                    .addJavadoc("The SHA-256 hash of $L\n", constant)
+                    .initializer("$S", operation.getHash())
+                    .build());
+        });
+        JavaFile.builder(packageName, builder.build())
+                .indent("\t")
+                .skipJavaLangImports(true)
+                .build()
+                .writeTo(filer);
+    }
+
+    private void writeManifest(TypeElement client, Collection<Operation> operations) throws Exception {
+        Json json = new Json();
+        json.beginObject()
+                .name("client").value(client.getQualifiedName().toString())
+                .name("operations").beginArray();
+        operations.forEach(operation -> json.beginObject()
+                .name("name").value(operation.getName())
+                .name("type").value(operation.getType())
+                .name("field").value(operation.getField())
+                .name("hash").value(operation.getHash())
+                .name("document").value(operation.getDocument())
+                .endObject());
+        json.endArray()
+                .endObject();
+        FileObject file = filer.createResource(StandardLocation.CLASS_OUTPUT, "", MANIFEST_DIRECTORY + client.getQualifiedName() + ".json", client);
+        try (Writer writer = file.openWriter()) {
+            writer.write(json.toString());
+        }
+    }
+
+    /**
+     * An operation generated for a method of a client
+     */
+    @Value
+    public static class Operation {
+
+        String name;
+
+        // query, mutation or subscription
+        String type;
+
+        String field;
+
+        String document;
+
+        // the SHA-256 hash of the document, as sent in place of it as a persisted query
+        String hash;
+
+        public static Operation of(String name, String type, String field, String document) {
+            return new Operation(name, type, field, document, PersistedQueries.hash(document));
+        }
+
+    }
+
+}
@@ -9,33 +9,22 @@ import lombok.extern.slf4j.Slf4j;
 
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Modifier;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
+import java.util.*;
 
 
 @Slf4j
-public class PojoBuilder {
+public class PojoBuilder extends GeneratedSource {
 
     private TypeSpec.Builder builder;
 
     private Type type;
 
-    private final String name;
-
-    private final String packageName;
-
     private final List<String> fields = new ArrayList<>();
 
     private final List<String> subTypes = new ArrayList<>();
 
     protected PojoBuilder(String name, String packageName) {
-        this.name = name;
-        this.packageName = packageName;
-    }
-
-    public String getFQDN() {
-        return String.format("%s.%s", packageName, name);
+        super(name, packageName);
     }
 
     public static PojoBuilder newInterface(String name, String packageName) {
@@ -64,7 +53,7 @@ public class PojoBuilder {
     }
 
     private PojoBuilder clazz(String name, boolean input) {
-        log.info("{} {} {", input ? "input" : "type", name);
+        log.debug("{} {} {", input ? "input" : "type", name);
         type = Type.Class;
         builder = TypeSpec.classBuilder(name)
                 .addModifiers(Modifier.PUBLIC)
@@ -73,7 +62,7 @@ public class PojoBuilder {
     }
 
     private PojoBuilder interfac(String name) {
-        log.info("interface {} {", name);
+        log.debug("interface {} {", name);
         type = Type.Interface;
         builder = TypeSpec.interfaceBuilder(name)
                 .addModifiers(Modifier.PUBLIC)
@@ -90,22 +79,16 @@ public class PojoBuilder {
     }
 
     private PojoBuilder enumeration(String name) {
-        log.info("enum {} {", name);
+        log.debug("enum {} {", name);
         type = Type.Enum;
         builder = TypeSpec.enumBuilder(name).addModifiers(Modifier.PUBLIC);
         return this;
     }
 
     public PojoBuilder withField(TypeName clazz, String name) {
-        boolean keyword = SourceVersion.isKeyword(name);
-        String finalName = name;
-        if (keyword) {
-            finalName = "_" + name;
-        }
-        if (clazz instanceof ClassName) {
-            log.info("\t" + name + ": " + ((ClassName) clazz).simpleName());
-        } else {
-            log.info("\t" + name + ": " + clazz);
+        String finalName = getFieldName(name);
+        if (log.isDebugEnabled()) {
+            log.debug("\t{}: {}", name, clazz instanceof ClassName ? ((ClassName) clazz).simpleName() : clazz);
         }
         fields.add(finalName);
         if (!isInterface()) {
@@ -125,7 +108,7 @@ public class PojoBuilder {
     public void withEnumValue(EnumValueDefinition it) {
         if (type == Type.Enum) {
             builder.addEnumConstant(it.getName());
-            log.info("\t{}", it.getName());
+            log.debug("\t{}", it.getName());
         }
     }
 
@@ -179,7 +162,7 @@ public class PojoBuilder {
                 builder.append("\",");
             }
         }
-        builder.append("\" }\"");
+        builder.append(fields.isEmpty() ? " }\"" : "\" }\"");
         MethodSpec toString = MethodSpec.methodBuilder("toString")
                 .addModifiers(Modifier.PUBLIC)
                 .returns(String.class)
@@ -188,7 +171,14 @@ public class PojoBuilder {
         this.builder.addMethod(toString);
     }
 
-    private String createGetterName(String variable) {
+    /**
+     * @return the name of the Java field of a GraphQL field, prefixed with an underscore when it is a keyword
+     */
+    static String getFieldName(String name) {
+        return SourceVersion.isKeyword(name) ? "_" + name : name;
+    }
+
+    static String createGetterName(String variable) {
         return StringUtils.camelCase("get",
                 variable.replaceFirst("_", "")
         );
@@ -203,7 +193,7 @@ public class PojoBuilder {
         );
     }
 
-    private String createSetterName(String variable) {
+    static String createSetterName(String variable) {
         return StringUtils.camelCase(
                 "set",
                 variable.replaceFirst("_", "")
@@ -256,6 +246,11 @@ public class PojoBuilder {
     }
 
     public TypeSpec buildClass() {
+        return buildType().build();
+    }
+
+    @Override
+    protected TypeSpec.Builder buildType() {
         if (!isInterface()) {
             generateToString();
             generateEquals();
@@ -268,22 +263,16 @@ public class PojoBuilder {
                         .addMember("value", StringUtils.enquote(name))
                         .build()
         );
-        return builder.build();
-    }
-
-    public JavaFile build() {
-        return JavaFile.builder(packageName, buildClass())
-                .indent("\t")
-                .build();
+        return builder;
     }
 
     public void finalise() {
         if (type == Type.Union) {
-            log.info("union {} = {}", name, String.join(" | ", subTypes));
+            log.debug("union {} = {}", name, String.join(" | ", subTypes));
         } else {
-            log.info("}");
+            log.debug("}");
         }
-        log.info("");
+        log.debug("");
     }
 
     enum Type {
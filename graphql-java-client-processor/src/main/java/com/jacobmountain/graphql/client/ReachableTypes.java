@@ -0,0 +1,175 @@
+package com.jacobmountain.graphql.client;
+
+import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.query.ast.Field;
+import com.jacobmountain.graphql.client.query.ast.InlineFragment;
+import com.jacobmountain.graphql.client.query.ast.Operation;
+import com.jacobmountain.graphql.client.query.ast.Selection;
+import com.jacobmountain.graphql.client.query.ast.SelectionSet;
+import com.jacobmountain.graphql.client.utils.Schema;
+import com.jacobmountain.graphql.client.visitor.MethodDetails;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.TypeDefinition;
+import graphql.language.TypeName;
+
+import java.util.*;
+
+/**
+ * The types, and the fields of those types, that can be reached from the methods of a set of clients, through the
+ * roots of their queries, their selections and their arguments. Input types and enums are always reachable as a whole.
+ */
+public class ReachableTypes {
+
+    private static final ReachableTypes ALL = new ReachableTypes(null);
+
+    private final Schema schema;
+
+    private final Map<String, Set<String>> fields = new HashMap<>();
+
+    private final Set<String> complete = new HashSet<>();
+
+    private ReachableTypes(Schema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * @return every type and field of the schema
+     */
+    public static ReachableTypes all() {
+        return ALL;
+    }
+
+    public static ReachableTypes of(Schema schema, Collection<MethodDetails> methods) {
+        return of(schema, new QueryGenerator(schema), methods);
+    }
+
+    /**
+     * @param queryGenerator generates the queries of the methods, it must estimate their costs as the clients' own
+     *                       generator does, and not hoist fragments
+     */
+    public static ReachableTypes of(Schema schema, QueryGenerator queryGenerator, Collection<MethodDetails> methods) {
+        ReachableTypes reachable = new ReachableTypes(schema);
+        reachable.addType(schema.getQueryTypeName());
+        schema.getMutationTypeName().ifPresent(reachable::addType);
+        schema.getSubscriptionTypeName().ifPresent(reachable::addType);
+        methods.forEach(method -> reachable.addMethod(queryGenerator, method));
+        reachable.addPossibleTypes();
+        return reachable;
+    }
+
+    public boolean isReachable(String type) {
+        return schema == null || fields.containsKey(type) || complete.contains(type);
+    }
+
+    public boolean isReachable(String type, String field) {
+        return schema == null || complete.contains(type) || fields.getOrDefault(type, Collections.emptySet()).contains(field);
+    }
+
+    private void addMethod(QueryGenerator queryGenerator, MethodDetails method) {
+        String root;
+        if (method.isMutation()) {
+            root = schema.getMutationTypeName().orElse(null);
+        } else if (method.isSubscription()) {
+            root = schema.getSubscriptionTypeName().orElse(null);
+        } else {
+            root = schema.getQueryTypeName();
+        }
+        Set<String> params = method.getArgumentNames();
+        Operation operation = queryGenerator.forMethod(method)
+                .buildOperation(null, method.getField(), params);
+        addSelections(root, operation.getSelectionSet());
+        // the arguments of the method are typed with the DTOs, even when the query doesn't use them
+        schema.findField(method.getField())
+                .ifPresent(field -> field.getInputValueDefinitions()
+                        .stream()
+                        .filter(arg -> params.contains(arg.getName()))
+                        .forEach(arg -> addInput(Schema.unwrap(arg.getType())))
+                );
+    }
+
+    private void addSelections(String type, SelectionSet selectionSet) {
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                schema.findField(type, field.getName())
+                        .ifPresent(definition -> {
+                            addField(type, definition);
+                            field.getArguments().forEach(argument -> definition.getInputValueDefinitions()
+                                    .stream()
+                                    .filter(it -> it.getName().equals(argument.getName()))
+                                    .forEach(it -> addInput(Schema.unwrap(it.getType())))
+                            );
+                            if (field.hasSelectionSet()) {
+                                addSelections(Schema.unwrap(definition.getType()), field.getSelectionSet());
+                            }
+                        });
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment fragment = (InlineFragment) selection;
+                addType(fragment.getTypeCondition());
+                addSelections(fragment.getTypeCondition(), fragment.getSelectionSet());
+            }
+        }
+    }
+
+    private void addField(String type, FieldDefinition field) {
+        addType(type);
+        fields.get(type).add(field.getName());
+        addType(Schema.unwrap(field.getType()));
+    }
+
+    private void addType(String type) {
+        TypeDefinition<?> definition = schema.getTypeDefinition(type).orElse(null);
+        if (definition instanceof InputObjectTypeDefinition || definition instanceof EnumTypeDefinition) {
+            addInput(type);
+        } else if (definition != null) {
+            fields.computeIfAbsent(type, it -> new LinkedHashSet<>());
+        }
+    }
+
+    private void addInput(String type) {
+        if (!complete.add(type)) {
+            return;
+        }
+        schema.getTypeDefinition(type)
+                .filter(it -> it instanceof InputObjectTypeDefinition)
+                .map(it -> (InputObjectTypeDefinition) it)
+                .ifPresent(input -> input.getInputValueDefinitions()
+                        .forEach(it -> addInput(Schema.unwrap(it.getType())))
+                );
+    }
+
+    /**
+     * Any of the possible types of a reachable interface or union may be returned, so are reachable too, along with
+     * the reachable fields of the interfaces they implement
+     */
+    private void addPossibleTypes() {
+        int size;
+        do {
+            size = size();
+            for (String type : new ArrayList<>(fields.keySet())) {
+                schema.getPossibleTypes(type).forEach(this::addType);
+                schema.getTypeDefinition(type)
+                        .filter(it -> it instanceof ObjectTypeDefinition)
+                        .map(it -> (ObjectTypeDefinition) it)
+                        .ifPresent(object -> object.getImplements()
+                                .stream()
+                                .map(interfac -> ((TypeName) interfac).getName())
+                                .filter(fields::containsKey)
+                                .flatMap(interfac -> new ArrayList<>(fields.get(interfac)).stream())
+                                .forEach(field -> schema.findField(type, field).ifPresent(it -> addField(type, it)))
+                        );
+            }
+        } while (size != size());
+    }
+
+    private int size() {
+        return fields.values()
+                .stream()
+                .mapToInt(it -> it.size() + 1)
+                .sum() + complete.size();
+    }
+
+}
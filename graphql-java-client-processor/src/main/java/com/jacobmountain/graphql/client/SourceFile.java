@@ -0,0 +1,28 @@
+package com.jacobmountain.graphql.client;
+
+import com.squareup.javapoet.JavaFile;
+
+import javax.lang.model.element.Element;
+import java.util.Collection;
+
+/**
+ * A generated source file, built ahead of being written by the FileWriter
+ */
+public interface SourceFile {
+
+    String getFQDN();
+
+    SourceFile withOriginatingElements(Collection<? extends Element> elements);
+
+    /**
+     * Builds the file, the result is cached, so the file can be built ahead of being written (e.g. on another thread),
+     * and must not be changed afterwards
+     */
+    JavaFile build();
+
+    /**
+     * @return the rendered source of the file, which is cached like the file itself
+     */
+    String getSource();
+
+}
@@ -39,10 +39,17 @@ public class TypeMapper {
     }
 
     public TypeMapper(String packageName, GraphQLClient.Scalar... scalars) {
-        Map<String, TypeName> scalarMap = Stream.of(scalars)
-                .collect(Collectors.toMap(GraphQLClient.Scalar::from, TypeMapper::getTypeName));
+        this(packageName, Stream.of(scalars)
+                .collect(Collectors.toMap(GraphQLClient.Scalar::from, TypeMapper::getTypeName)));
+    }
+
+    /**
+     * @param packageName the package of the DTOs
+     * @param scalars     the java types of any custom scalars, by the name of the scalar
+     */
+    public TypeMapper(String packageName, Map<String, TypeName> scalars) {
         this.scalars = new HashMap<>(SCALARS);
-        this.scalars.putAll(scalarMap);
+        this.scalars.putAll(scalars);
         this.packageName = packageName;
     }
 
@@ -0,0 +1,87 @@
+package com.jacobmountain.graphql.client;
+
+import com.jacobmountain.graphql.client.utils.AnnotationUtils;
+import com.jacobmountain.graphql.client.visitor.Parameter;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Modifier;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Makes the argument class of a client method a Jackson JsonSerializable, which writes the variables of the request
+ * straight to the JsonGenerator, rather than Jackson serializing the class through reflection. Strings, numbers and
+ * booleans are written by the generator itself, any other variable, e.g. an input type, by the ObjectMapper.
+ * <p>
+ * Non-null parameters are always written, nullable ones are left out when they are null and the ObjectMapper's default
+ * inclusion leaves out nulls, as it would for the fields of the argument class.
+ */
+class VariablesWriter {
+
+    private static final ClassName JSON_SERIALIZABLE = ClassName.get("com.fasterxml.jackson.databind", "JsonSerializable");
+
+    private static final ClassName JSON_INCLUDE = ClassName.get(AnnotationUtils.JACKSON_ANNOTATIONS_PACKAGE, "JsonInclude", "Include");
+
+    private VariablesWriter() {
+    }
+
+    /**
+     * @param arguments  the argument class of the method
+     * @param parameters the parameters of the method, which are the fields of the argument class
+     * @return the argument class, implementing JsonSerializable
+     */
+    static TypeSpec implement(TypeSpec arguments, List<Parameter> parameters) {
+        MethodSpec.Builder serialize = MethodSpec.methodBuilder("serialize")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(CodecBuilder.JSON_GENERATOR, "g")
+                .addParameter(CodecBuilder.SERIALIZER_PROVIDER, "provider")
+                .addException(IOException.class);
+        if (parameters.stream().anyMatch(parameter -> parameter.isNullable() && !parameter.getType().isPrimitive())) {
+            serialize.addStatement("$T include = provider.getConfig().getDefaultPropertyInclusion(getClass()).getValueInclusion()", JSON_INCLUDE)
+                    .addStatement("boolean nulls = include == $T.ALWAYS || include == $T.USE_DEFAULTS", JSON_INCLUDE, JSON_INCLUDE);
+        }
+        serialize.addStatement("g.writeStartObject(this)");
+        parameters.forEach(parameter -> {
+            String field = parameter.getField();
+            CodeBlock value = CodeBlock.of("this.$L", PojoBuilder.getFieldName(field));
+            CodeBlock write = CodecBuilder.writeScalar(parameter.getType(), value);
+            if (parameter.getType().isPrimitive()) {
+                serialize.addStatement("g.writeFieldName($S)", field)
+                        .addStatement(write);
+            } else if (parameter.isNullable()) {
+                serialize.beginControlFlow("if ($L != null)", value)
+                        .addStatement("g.writeFieldName($S)", field)
+                        .addStatement(write)
+                        .nextControlFlow("else if (nulls)")
+                        .addStatement("g.writeNullField($S)", field)
+                        .endControlFlow();
+            } else {
+                serialize.addStatement("g.writeFieldName($S)", field)
+                        .beginControlFlow("if ($L == null)", value)
+                        .addStatement("g.writeNull()")
+                        .nextControlFlow("else")
+                        .addStatement(write)
+                        .endControlFlow();
+            }
+        });
+        serialize.addStatement("g.writeEndObject()");
+        return arguments.toBuilder()
+                .addSuperinterface(JSON_SERIALIZABLE)
+                .addMethod(serialize.build())
+                .addMethod(MethodSpec.methodBuilder("serializeWithType")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(CodecBuilder.JSON_GENERATOR, "g")
+                        .addParameter(CodecBuilder.SERIALIZER_PROVIDER, "provider")
+                        .addParameter(CodecBuilder.TYPE_SERIALIZER, "typeSerializer")
+                        .addException(IOException.class)
+                        .addStatement("serialize(g, provider)")
+                        .build())
+                .build();
+    }
+
+}
@@ -0,0 +1,124 @@
+package com.jacobmountain.graphql.client.cli;
+
+import com.jacobmountain.graphql.client.DTOGenerator;
+import com.jacobmountain.graphql.client.FileWriter;
+import com.jacobmountain.graphql.client.TypeMapper;
+import com.jacobmountain.graphql.client.utils.Schema;
+import com.jacobmountain.graphql.client.utils.StringUtils;
+import com.jacobmountain.graphql.client.utils.WorkerPool;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates the DTOs of a schema outside of annotation processing, so they can be generated once into a module of
+ * their own and shared by every module with a @GraphQLClient on the same schema.
+ * <p>
+ * Clients are still generated by the annotation processor, as they are implementations of the annotated interfaces.
+ */
+@Getter
+public class DTOGeneratorCli {
+
+    static final String USAGE = "usage: DTOGeneratorCli --schema <file> --package <package> --output <directory> " +
+            "[--scalar <GraphQL scalar>=<java class>]... [--parallelism <threads>] [--codecs]";
+
+    private Path schema;
+
+    private String packageName;
+
+    private Path output;
+
+    private final Map<String, TypeName> scalars = new LinkedHashMap<>();
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private boolean codecs = false;
+
+    public static void main(String[] args) {
+        DTOGeneratorCli cli;
+        try {
+            cli = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        int failures = cli.generate();
+        if (failures > 0) {
+            System.err.println("Failed to write " + failures + " DTO(s)");
+            System.exit(1);
+        }
+    }
+
+    static DTOGeneratorCli parse(String... args) {
+        DTOGeneratorCli cli = new DTOGeneratorCli();
+        Iterator<String> it = Arrays.asList(args).iterator();
+        while (it.hasNext()) {
+            String arg = it.next();
+            switch (arg) {
+                case "--schema":
+                    cli.schema = Paths.get(value(arg, it));
+                    break;
+                case "--package":
+                    cli.packageName = value(arg, it);
+                    break;
+                case "--output":
+                    cli.output = Paths.get(value(arg, it));
+                    break;
+                case "--scalar":
+                    String scalar = value(arg, it);
+                    int equals = scalar.indexOf('=');
+                    if (equals < 1 || equals == scalar.length() - 1) {
+                        throw new IllegalArgumentException("Invalid scalar mapping: " + scalar);
+                    }
+                    cli.scalars.put(scalar.substring(0, equals), ClassName.bestGuess(scalar.substring(equals + 1)));
+                    break;
+                case "--parallelism":
+                    try {
+                        cli.parallelism = Math.max(1, Integer.parseInt(value(arg, it)));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid parallelism: " + e.getMessage());
+                    }
+                    break;
+                case "--codecs":
+                    cli.codecs = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+        if (cli.schema == null || StringUtils.isEmpty(cli.packageName) || cli.output == null) {
+            throw new IllegalArgumentException("--schema, --package and --output are required");
+        }
+        return cli;
+    }
+
+    private static String value(String arg, Iterator<String> it) {
+        if (!it.hasNext()) {
+            throw new IllegalArgumentException("Missing value for " + arg);
+        }
+        return it.next();
+    }
+
+    /**
+     * @return the number of DTOs that failed to be written
+     */
+    public int generate() {
+        Schema schema = new Schema(this.schema.toFile());
+        FileWriter writer = new FileWriter(output);
+        try (WorkerPool workers = new WorkerPool(parallelism)) {
+            new DTOGenerator(packageName, writer, new TypeMapper(packageName, scalars), workers, codecs)
+                    .generate(schema.types().values());
+        }
+        return writer.getFailures();
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.jacobmountain.graphql.client.exceptions;
+
+import javax.lang.model.element.Element;
+
+public class InvalidProjectionException extends RuntimeException {
+
+    // the method returning the projection, or null until the method is known
+    private final Element element;
+
+    public InvalidProjectionException(String message) {
+        this(message, null);
+    }
+
+    public InvalidProjectionException(String message, Element element) {
+        super(message);
+        this.element = element;
+    }
+
+    /**
+     * @return the method returning the projection, to report the error on
+     */
+    public Element getElement() {
+        return element;
+    }
+
+}
@@ -1,17 +1,16 @@
 package com.jacobmountain.graphql.client.modules;
 
+import com.jacobmountain.graphql.client.PersistedQueries;
 import com.jacobmountain.graphql.client.TypeMapper;
 import com.jacobmountain.graphql.client.dto.Response;
 import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.query.ast.Operation;
 import com.jacobmountain.graphql.client.utils.Schema;
-import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection;
 import com.jacobmountain.graphql.client.visitor.MethodDetails;
-import com.jacobmountain.graphql.client.visitor.Parameter;
 import com.squareup.javapoet.*;
 import graphql.language.ObjectTypeDefinition;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 public abstract class AbstractQueryStage extends AbstractStage {
 
@@ -23,6 +22,9 @@ public abstract class AbstractQueryStage extends AbstractStage {
 
     private final QueryGenerator queryGenerator;
 
+    private QueryListener onQueryGenerated = (method, operation, query) -> {
+    };
+
     public AbstractQueryStage(QueryGenerator queryGenerator, Schema schema, TypeMapper typeMapper, String dtoPackageName) {
         super(schema, typeMapper);
         this.query = ClassName.get(dtoPackageName, schema.getQueryTypeName());
@@ -31,6 +33,15 @@ public abstract class AbstractQueryStage extends AbstractStage {
         this.queryGenerator = queryGenerator;
     }
 
+    /**
+     * Registers a listener called with each query generated, from the thread generating the method
+     *
+     * @param listener called with the method, its operation and the rendered query
+     */
+    public void onQueryGenerated(QueryListener listener) {
+        this.onQueryGenerated = listener;
+    }
+
     protected TypeName getFetcherTypeName(Class<?> fetcher) {
         return ParameterizedTypeName.get(
                 ClassName.get(fetcher),
@@ -73,34 +84,18 @@ public abstract class AbstractQueryStage extends AbstractStage {
         return method;
     }
 
-    protected CodeBlock generateQueryCode(String request, MethodDetails method, CodeBlock... additionalArgs) {
-        Set<String> params = method.getParameters()
-                .stream()
-                .map(Parameter::getField)
-                .collect(Collectors.toSet());
-        QueryGenerator.QueryBuilder builder;
-        if (method.isQuery()) {
-            builder = queryGenerator.query();
-        } else if (method.isMutation()) {
-            builder = queryGenerator.mutation();
-        } else if (method.isSubscription()) {
-            builder = queryGenerator.subscription();
-        } else {
-            throw new IllegalStateException();
-        }
-
-        String query = builder
-                .select(
-                        method.getSelection()
-                                .stream()
-                                .map(GraphQLFieldSelection::new)
-                                .collect(Collectors.toList())
-                )
-                .maxDepth(method.getMaxDepth())
-                .build(request, method.getField(), params);
+    protected CodeBlock generateQueryCode(ClientDetails client, String request, MethodDetails method, CodeBlock... additionalArgs) {
+        Operation operation = queryGenerator.forMethod(method)
+                .buildOperation(request, method.getField(), method.getArgumentNames());
+        String query = queryGenerator.render(operation);
+        onQueryGenerated.accept(method, operation, query);
 
         List<CodeBlock> args = new ArrayList<>();
-        args.add(CodeBlock.of("\n\"$L\"", query));
+        args.add(CodeBlock.of("\n$S", query));
+        if (client.persistedQueries() && !method.isSubscription()) {
+            // the hash of the query, for the fetcher to send in its place
+            args.add(CodeBlock.of("\n$S", PersistedQueries.hash(query)));
+        }
         args.add(CodeBlock.of("\n$L", method.hasParameters() ? "args" : "null"));
         args.addAll(Arrays.asList(additionalArgs));
         return CodeBlock.builder()
@@ -110,4 +105,11 @@ public abstract class AbstractQueryStage extends AbstractStage {
                 .build();
     }
 
+    @FunctionalInterface
+    public interface QueryListener {
+
+        void accept(MethodDetails method, Operation operation, String query);
+
+    }
+
 }
\ No newline at end of file
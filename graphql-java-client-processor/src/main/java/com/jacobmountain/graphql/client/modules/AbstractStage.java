@@ -3,6 +3,7 @@ package com.jacobmountain.graphql.client.modules;
 import com.jacobmountain.graphql.client.TypeMapper;
 import com.jacobmountain.graphql.client.utils.Schema;
 import com.jacobmountain.graphql.client.visitor.MethodDetails;
+import com.jacobmountain.graphql.client.visitor.Projection;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.TypeName;
 import graphql.language.ObjectTypeDefinition;
@@ -12,6 +13,8 @@ import lombok.Value;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 public abstract class AbstractStage {
@@ -42,6 +45,25 @@ public abstract class AbstractStage {
         }
     }
 
+    /**
+     * Maps the DTO of the root field to the projection returned by the method, if it returns one, see
+     * ClientGenerator#generateProjection
+     */
+    protected Optional<CodeBlock> mapProjection(MethodDetails details) {
+        Projection projection = details.getProjection();
+        if (projection == null) {
+            return Optional.empty();
+        }
+        boolean list = schema.findField(details.getField())
+                .map(field -> Schema.isList(field.getType()))
+                .orElse(false);
+        if (list) {
+            return Optional.of(CodeBlock.of("map(list -> list.stream().map($L::of).collect($T.toList()))",
+                    projection.getImplementationName(), Collectors.class));
+        }
+        return Optional.of(CodeBlock.of("map($L::of)", projection.getImplementationName()));
+    }
+
     @Value
     @Builder
     public static class MemberVariable {
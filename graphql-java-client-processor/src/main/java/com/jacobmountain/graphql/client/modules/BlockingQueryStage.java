@@ -58,9 +58,9 @@ public class BlockingQueryStage extends AbstractQueryStage {
         CodeBlock queryCode;
         if (method.isSubscription()) {
             final CodeBlock unwrapLambda = unwrapResponseLambda(query, method);
-            queryCode = generateQueryCode(method.getRequestName(), method, unwrapLambda);
+            queryCode = generateQueryCode(client, method.getRequestName(), method, unwrapLambda);
         } else {
-            queryCode = generateQueryCode(method.getRequestName(), method);
+            queryCode = generateQueryCode(client, method.getRequestName(), method);
             builder.add("$T thing = ", ParameterizedTypeName.get(RESPONSE_CLASS_NAME, typeMapper.getType(query.getName()), TypeVariableName.get("Error")));
         }
         return Collections.singletonList(
@@ -9,6 +9,9 @@ public class ClientDetails {
 
     private final boolean requiresFetcher;
 
+    // whether the hashes of the queries are passed to the fetcher
+    private final boolean persistedQueries;
+
     public boolean requiresSubscriber() {
         return requiresSubscriber;
     }
@@ -17,4 +20,8 @@ public class ClientDetails {
         return requiresFetcher;
     }
 
+    public boolean persistedQueries() {
+        return persistedQueries;
+    }
+
 }
@@ -39,6 +39,7 @@ public class OptionalReturnStage extends AbstractStage {
         ret.add(CodeBlock.of("map($T::$L)",
                 typeMapper.getType(typeDefinition.getName()), StringUtils.camelCase("get", method.getField()))
         );
+        mapProjection(method).ifPresent(ret::add);
         if (!method.returnsClass(Optional.class)) {
             ret.add(CodeBlock.of("orElse(null)"));
         }
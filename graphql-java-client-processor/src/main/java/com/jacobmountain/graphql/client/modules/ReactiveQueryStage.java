@@ -49,7 +49,7 @@ public class ReactiveQueryStage extends AbstractQueryStage {
         return Collections.singletonList(
                 CodeBlock.builder()
                         .add("$T thing = ", ParameterizedTypeName.get(ClassName.get(Publisher.class), getReturnTypeName(method)))
-                        .add("$L.$L", member, getMethod(method)).add(generateQueryCode(method.getRequestName(), method))
+                        .add("$L.$L", member, getMethod(method)).add(generateQueryCode(client, method.getRequestName(), method))
                         .build()
         );
     }
@@ -44,6 +44,7 @@ public class ReactiveReturnStage extends AbstractStage {
         ret.add(CodeBlock.of("map($T::$L)",
                 typeMapper.getType(typeDefinition.getName()), StringUtils.camelCase("get", method.getField()))
         );
+        mapProjection(method).ifPresent(ret::add);
 
         unwrapReturnType(method).ifPresent(ret::add);
 
@@ -0,0 +1,235 @@
+package com.jacobmountain.graphql.client.query;
+
+import com.jacobmountain.graphql.client.query.ast.*;
+import com.jacobmountain.graphql.client.utils.Schema;
+import graphql.language.FieldDefinition;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Cuts a generated query down to the fields that fit within a cost budget, see {@link QueryCost}.
+ * <p>
+ * The fields are chosen breadth-first, so every field one level down is considered before any field two levels down.
+ * Within a level the cheapest fields go first, scalars before objects, which leaves the fields under nested lists, the
+ * most expensive, to last. A field with a selection set also pays for the cheapest field under it, so it is rarely
+ * selected only to be dropped again when none of its own fields fit. The fields of the root of the query are always
+ * kept, as are the fields with @include or @skip directives, the fields above them, and the cheapest field under them,
+ * so the variables of the method always have a field to apply to, even when this goes over the budget.
+ */
+class CostBudget {
+
+    private static final String TYPENAME = "__typename";
+
+    private final Schema schema;
+
+    private final QueryCost cost;
+
+    private final long budget;
+
+    CostBudget(Schema schema, QueryCost cost, long budget) {
+        this.schema = schema;
+        this.cost = cost;
+        this.budget = budget;
+    }
+
+    Operation apply(Operation operation) {
+        Node root = new Node(null, schema.getOperationTypeName(operation.getType()), 1, operation.getSelectionSet());
+        List<Node> level = new ArrayList<>();
+        long spent = 0;
+        for (Node field : expand(root, root)) {
+            field.select();
+            spent += field.getPrice();
+            level.add(field);
+        }
+        while (!level.isEmpty()) {
+            List<Node> candidates = new ArrayList<>();
+            level.forEach(parent -> candidates.addAll(expand(parent, parent)));
+            // a stable sort, so equally cheap fields keep their order in the query
+            candidates.sort(Comparator.comparingLong((Node node) -> node.charge)
+                    .thenComparing(node -> node.selectionSet != null));
+            level = new ArrayList<>();
+            for (Node candidate : candidates) {
+                // the first field selected under an object was paid for with the object
+                long reserved = candidate.owner.reserved;
+                // the first field selected under a required field is required too, so it keeps a field of its own
+                if (candidate.owner.required && reserved > 0) {
+                    candidate.required = true;
+                }
+                if (!candidate.required && spent - reserved + candidate.getPrice() > budget) {
+                    continue;
+                }
+                candidate.select();
+                candidate.owner.reserved = 0;
+                spent += candidate.getPrice() - reserved;
+                if (candidate.selectionSet != null) {
+                    level.add(candidate);
+                }
+            }
+        }
+        SelectionSet selectionSet = new SelectionSet(root.build(false));
+        Set<String> used = new HashSet<>();
+        collectVariables(selectionSet, used);
+        List<Variable> variables = operation.getVariables()
+                .stream()
+                .filter(variable -> used.contains(variable.getName()))
+                .collect(Collectors.toList());
+        return new Operation(operation.getType(), operation.getName(), variables, selectionSet);
+    }
+
+    /**
+     * Creates the nodes of the fields selected under a node, __typename is free so is selected straight away, and the
+     * fields of inline fragments are candidates at the same level as the fields around them
+     *
+     * @param owner the field the candidates are selected under
+     * @return the candidate fields
+     */
+    private List<Node> expand(Node parent, Node owner) {
+        List<Node> candidates = new ArrayList<>();
+        for (Selection selection : parent.selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                if (TYPENAME.equals(field.getName())) {
+                    Node typename = parent.add(new Node(field, null, 0, null));
+                    typename.selected = true;
+                    continue;
+                }
+                Optional<FieldDefinition> definition = schema.findField(parent.type, field.getName());
+                long charge = parent.multiplier * definition.map(cost::getListSize).orElse(1);
+                String type = definition.map(it -> Schema.unwrap(it.getType())).orElse(null);
+                Node node = parent.add(new Node(field, type, charge, field.getSelectionSet()));
+                node.owner = owner;
+                node.required = hasDirectives(field);
+                candidates.add(node);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment fragment = (InlineFragment) selection;
+                Node node = parent.add(new Node(fragment, fragment.getTypeCondition(), parent.multiplier, fragment.getSelectionSet()));
+                node.selected = true;
+                candidates.addAll(expand(node, owner));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * @return whether the field, or any field under it, has directives
+     */
+    private static boolean hasDirectives(Field field) {
+        return !field.getDirectives().isEmpty() || field.hasSelectionSet() && hasDirectives(field.getSelectionSet());
+    }
+
+    private static boolean hasDirectives(SelectionSet selectionSet) {
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field && hasDirectives((Field) selection)) {
+                return true;
+            } else if (selection instanceof InlineFragment && hasDirectives(((InlineFragment) selection).getSelectionSet())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void collectVariables(SelectionSet selectionSet, Set<String> variables) {
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                field.getArguments().forEach(argument -> variables.add(argument.getVariable()));
+                field.getDirectives().forEach(directive -> directive.getArguments().forEach(argument -> variables.add(argument.getVariable())));
+                if (field.hasSelectionSet()) {
+                    collectVariables(field.getSelectionSet(), variables);
+                }
+            } else if (selection instanceof InlineFragment) {
+                collectVariables(((InlineFragment) selection).getSelectionSet(), variables);
+            }
+        }
+    }
+
+    private static class Node {
+
+        private final Selection selection;
+
+        private final String type;
+
+        // the cost of selecting this field, and the multiplier of the fields under it
+        private final long charge;
+
+        private final long multiplier;
+
+        private final SelectionSet selectionSet;
+
+        private final List<Node> children = new ArrayList<>();
+
+        private Node owner;
+
+        // the cost held back for the first field selected under this one
+        private long reserved;
+
+        private boolean selected;
+
+        // selected whatever the budget, see hasDirectives
+        private boolean required;
+
+        private Node(Selection selection, String type, long charge, SelectionSet selectionSet) {
+            this.selection = selection;
+            this.type = type;
+            this.charge = charge;
+            this.multiplier = Math.max(1, charge);
+            this.selectionSet = selectionSet;
+        }
+
+        /**
+         * @return the cost of selecting this field, a field with a selection set also pays for the cheapest field it
+         * could select, so it isn't selected only to be dropped when none of its fields fit
+         */
+        private long getPrice() {
+            return selectionSet == null ? charge : charge + multiplier;
+        }
+
+        private void select() {
+            selected = true;
+            if (selectionSet != null) {
+                reserved = multiplier;
+            }
+        }
+
+        private Node add(Node child) {
+            children.add(child);
+            return child;
+        }
+
+        /**
+         * @param required whether the field is kept even if only __typename fits under it, true for the fields of the
+         *                 root of the query
+         * @return the selected fields under this node, in their original order, empty if only __typename is selected
+         */
+        private List<Selection> build(boolean required) {
+            List<Selection> selections = new ArrayList<>();
+            boolean fields = false;
+            for (Node child : children) {
+                if (!child.selected) {
+                    continue;
+                }
+                if (child.selectionSet == null) {
+                    selections.add(child.selection);
+                    fields |= !TYPENAME.equals(((Field) child.selection).getName());
+                    continue;
+                }
+                // the root node has no selection of its own
+                List<Selection> grandchildren = child.build(selection == null);
+                if (grandchildren.isEmpty()) {
+                    continue;
+                }
+                fields = true;
+                if (child.selection instanceof InlineFragment) {
+                    selections.add(new InlineFragment(((InlineFragment) child.selection).getTypeCondition(), new SelectionSet(grandchildren)));
+                } else {
+                    Field field = (Field) child.selection;
+                    selections.add(new Field(field.getName(), field.getArguments(), new SelectionSet(grandchildren), field.getDirectives()));
+                }
+            }
+            return fields || required ? selections : Collections.emptyList();
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.jacobmountain.graphql.client.query;
+
+import com.jacobmountain.graphql.client.query.ast.*;
+import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Adds @include and @skip directives to the fields of a generated query, each bound to a Boolean! variable, e.g.
+ * friends @include(if: $withFriends) { ... }, so one query can leave out some of its fields at runtime.
+ * <p>
+ * The fields are found by their path, exclusive of the root field like the paths of select, and the fields of inline
+ * fragments are on the path of the enclosing field, so a path can match a field in more than one fragment.
+ */
+class FieldDirectives {
+
+    private static final String TYPE = "Boolean!";
+
+    private final Map<List<String>, List<Directive>> directives = new LinkedHashMap<>();
+
+    private final Set<Variable> variables = new LinkedHashSet<>();
+
+    private final Set<List<String>> found = new HashSet<>();
+
+    void add(String name, GraphQLFieldSelection field, String variable) {
+        directives.computeIfAbsent(field.getPath(), path -> new ArrayList<>())
+                .add(new Directive(name, Collections.singletonList(new Argument("if", variable))));
+        variables.add(new Variable(variable, TYPE));
+    }
+
+    boolean isEmpty() {
+        return directives.isEmpty();
+    }
+
+    /**
+     * @throws IllegalArgumentException if a path doesn't match any field of the query
+     */
+    Operation apply(Operation operation) {
+        List<Selection> selections = operation.getSelectionSet()
+                .getSelections()
+                .stream()
+                .map(selection -> {
+                    if (!(selection instanceof Field) || !((Field) selection).hasSelectionSet()) {
+                        return selection;
+                    }
+                    Field root = (Field) selection;
+                    return new Field(root.getName(), root.getArguments(), rewrite(root.getSelectionSet(), Collections.emptyList()), root.getDirectives());
+                })
+                .collect(Collectors.toList());
+        directives.keySet()
+                .stream()
+                .filter(path -> !found.contains(path))
+                .findFirst()
+                .ifPresent(path -> {
+                    throw new IllegalArgumentException("The query doesn't select " + String.join(".", path) + " to add @" +
+                            directives.get(path).get(0).getName() + " to, it may be deeper than the maxDepth");
+                });
+        List<Variable> declared = new ArrayList<>(operation.getVariables());
+        variables.stream()
+                .filter(variable -> !declared.contains(variable))
+                .forEach(declared::add);
+        return new Operation(operation.getType(), operation.getName(), declared, new SelectionSet(selections), operation.getFragments());
+    }
+
+    private SelectionSet rewrite(SelectionSet selectionSet, List<String> parent) {
+        List<Selection> selections = selectionSet.getSelections()
+                .stream()
+                .map(selection -> {
+                    if (selection instanceof InlineFragment) {
+                        InlineFragment fragment = (InlineFragment) selection;
+                        return new InlineFragment(fragment.getTypeCondition(), rewrite(fragment.getSelectionSet(), parent));
+                    } else if (!(selection instanceof Field)) {
+                        return selection;
+                    }
+                    Field field = (Field) selection;
+                    List<String> path = new ArrayList<>(parent);
+                    path.add(field.getName());
+                    SelectionSet children = field.hasSelectionSet() ? rewrite(field.getSelectionSet(), path) : null;
+                    List<Directive> directives = this.directives.get(path);
+                    if (directives == null) {
+                        return new Field(field.getName(), field.getArguments(), children, field.getDirectives());
+                    }
+                    found.add(path);
+                    List<Directive> all = new ArrayList<>(field.getDirectives());
+                    all.addAll(directives);
+                    return new Field(field.getName(), field.getArguments(), children, all);
+                })
+                .collect(Collectors.toList());
+        return new SelectionSet(selections);
+    }
+
+}
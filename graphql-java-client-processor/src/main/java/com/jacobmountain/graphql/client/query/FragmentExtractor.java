@@ -0,0 +1,177 @@
+package com.jacobmountain.graphql.client.query;
+
+import com.jacobmountain.graphql.client.query.ast.*;
+import com.jacobmountain.graphql.client.utils.Schema;
+import lombok.Value;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Hoists the selection sets repeated within an operation into named fragments, e.g. the same selection of a Character
+ * under hero, friends and friendsConnection.edges.node becomes ...CharacterFields, defined once as
+ * fragment CharacterFields on Character { ... }
+ * <p>
+ * A selection set is only hoisted when its spreads and its fragment are shorter than repeating it, so small selection
+ * sets stay inline. A repeated selection set is counted once however many times it is repeated, so the selection sets
+ * within it are only hoisted if they are also repeated somewhere else.
+ */
+class FragmentExtractor {
+
+    private final Schema schema;
+
+    private final Map<Key, Integer> occurrences = new HashMap<>();
+
+    private final Map<Key, String> names = new HashMap<>();
+
+    private final Map<String, Integer> namesPerType = new HashMap<>();
+
+    // in the order the fragments are first spread
+    private final Map<String, FragmentDefinition> fragments = new LinkedHashMap<>();
+
+    FragmentExtractor(Schema schema) {
+        this.schema = schema;
+    }
+
+    Operation apply(Operation operation) {
+        String root = schema.getOperationTypeName(operation.getType());
+        count(root, operation.getSelectionSet());
+        if (occurrences.values().stream().noneMatch(it -> it > 1)) {
+            return operation;
+        }
+        SelectionSet selectionSet = rewrite(root, operation.getSelectionSet());
+        return new Operation(
+                operation.getType(),
+                operation.getName(),
+                operation.getVariables(),
+                selectionSet,
+                new ArrayList<>(fragments.values())
+        );
+    }
+
+    private void count(String type, SelectionSet selectionSet) {
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field && ((Field) selection).hasSelectionSet()) {
+                Field field = (Field) selection;
+                Key key = getKey(type, field);
+                if (key != null && occurrences.merge(key, 1, Integer::sum) == 1) {
+                    count(key.type, key.selectionSet);
+                }
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment fragment = (InlineFragment) selection;
+                count(fragment.getTypeCondition(), fragment.getSelectionSet());
+            }
+        }
+    }
+
+    private SelectionSet rewrite(String type, SelectionSet selectionSet) {
+        List<Selection> selections = selectionSet.getSelections()
+                .stream()
+                .map(selection -> {
+                    if (selection instanceof Field && ((Field) selection).hasSelectionSet()) {
+                        Field field = (Field) selection;
+                        Key key = getKey(type, field);
+                        if (key == null) {
+                            return field;
+                        }
+                        SelectionSet children;
+                        if (isWorthHoisting(key)) {
+                            children = new SelectionSet(Collections.singletonList(new FragmentSpread(getFragment(key))));
+                        } else {
+                            children = rewrite(key.type, key.selectionSet);
+                        }
+                        return new Field(field.getName(), field.getArguments(), children, field.getDirectives());
+                    } else if (selection instanceof InlineFragment) {
+                        InlineFragment fragment = (InlineFragment) selection;
+                        return new InlineFragment(fragment.getTypeCondition(), rewrite(fragment.getTypeCondition(), fragment.getSelectionSet()));
+                    }
+                    return selection;
+                })
+                .collect(Collectors.toList());
+        return new SelectionSet(selections);
+    }
+
+    /**
+     * @return the name of the fragment of the selection set, defining it the first time it is spread
+     */
+    private String getFragment(Key key) {
+        String name = names.get(key);
+        if (name != null) {
+            return name;
+        }
+        int index = namesPerType.merge(key.type, 1, Integer::sum);
+        name = key.type + "Fields" + (index > 1 ? index : "");
+        names.put(key, name);
+        // holds the place of the fragment, ahead of the fragments spread within it
+        fragments.put(name, null);
+        fragments.put(name, new FragmentDefinition(name, key.type, rewrite(key.type, key.selectionSet)));
+        return name;
+    }
+
+    private Key getKey(String parent, Field field) {
+        return schema.findField(parent, field.getName())
+                .map(definition -> new Key(Schema.unwrap(definition.getType()), field.getSelectionSet()))
+                .orElse(null);
+    }
+
+    /**
+     * Compares the length of the selection set, repeated every time it is selected, against the length of a spread
+     * every time plus the fragment once
+     */
+    private boolean isWorthHoisting(Key key) {
+        int occurrences = this.occurrences.get(key);
+        if (occurrences < 2) {
+            return false;
+        }
+        int name = key.type.length() + "Fields".length();
+        long inline = (long) occurrences * length(key.selectionSet);
+        long hoisted = (long) occurrences * ("{ ... }".length() + name) +
+                "fragment  on  ".length() + name + key.type.length() + length(key.selectionSet);
+        return hoisted < inline;
+    }
+
+    /**
+     * @return roughly the length of the selection set once rendered, with the spacing of the compact style
+     */
+    private static int length(SelectionSet selectionSet) {
+        int length = "{ }".length();
+        for (Selection selection : selectionSet.getSelections()) {
+            length++;
+            if (selection instanceof Field) {
+                Field field = (Field) selection;
+                length += field.getName().length();
+                for (Argument argument : field.getArguments()) {
+                    length += argument.getName().length() + argument.getVariable().length() + ", : $".length();
+                }
+                for (Directive directive : field.getDirectives()) {
+                    length += " @".length() + directive.getName().length();
+                    for (Argument argument : directive.getArguments()) {
+                        length += argument.getName().length() + argument.getVariable().length() + ", : $".length();
+                    }
+                }
+                if (field.hasSelectionSet()) {
+                    length += 1 + length(field.getSelectionSet());
+                }
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment fragment = (InlineFragment) selection;
+                length += "... on  ".length() + fragment.getTypeCondition().length() + length(fragment.getSelectionSet());
+            } else if (selection instanceof FragmentSpread) {
+                length += "...".length() + ((FragmentSpread) selection).getName().length();
+            }
+        }
+        return length;
+    }
+
+    /**
+     * A selection set along with the type it is selected on, the same fields of two types are different fragments
+     */
+    @Value
+    private static class Key {
+
+        String type;
+
+        SelectionSet selectionSet;
+
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.jacobmountain.graphql.client.query;
 
+import com.jacobmountain.graphql.client.query.ast.Variable;
 import graphql.language.FieldDefinition;
 import graphql.language.Type;
 import lombok.AllArgsConstructor;
 import lombok.Value;
 
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Set;
 
 @Value
@@ -19,21 +22,45 @@ public class QueryContext {
 
     Set<String> params;
 
-    Set<String> args;
+    Set<Variable> args;
+
+    SelectionCache cache;
+
+    public QueryContext(QueryContext parent, int depth, FieldDefinition fieldDefinition, Set<String> params, Set<Variable> args) {
+        this(parent, depth, fieldDefinition, params, args, new SelectionCache());
+    }
 
     public QueryContext increment() {
-        return new QueryContext(this, depth + 1, fieldDefinition, params, args);
+        return new QueryContext(this, depth + 1, fieldDefinition, params, args, cache);
     }
 
     public QueryContext withType(FieldDefinition fieldDefinition) {
-        return new QueryContext(parent, depth, fieldDefinition, params, args);
+        return new QueryContext(parent, depth, fieldDefinition, params, args, cache);
+    }
+
+    /**
+     * Returns the names of the fields from the root field down to this one, exclusive of the root field, so the path
+     * of a context is as long as its depth. The fields of inline fragments are on the path of the enclosing field.
+     * <p>
+     * A child context is the increment of a copy of its parent, with the child's field, so the parent of a context is
+     * that copy, and the contexts of the parent fields only follow it.
+     */
+    public List<String> getPath() {
+        LinkedList<String> path = new LinkedList<>();
+        path.add(fieldDefinition.getName());
+        for (QueryContext context = parent; context != null; context = context.parent) {
+            if (context.depth < depth - 1) {
+                path.addFirst(context.fieldDefinition.getName());
+            }
+        }
+        return path;
     }
 
     public Type<?> getType() {
         return fieldDefinition.getType();
     }
 
-    public void newArg(String arg) {
+    public void newArg(Variable arg) {
         args.add(arg);
     }
 }
@@ -0,0 +1,129 @@
+package com.jacobmountain.graphql.client.query;
+
+import com.jacobmountain.graphql.client.query.ast.*;
+import com.jacobmountain.graphql.client.utils.Schema;
+import graphql.language.FieldDefinition;
+import graphql.language.IntValue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Estimates the cost of a query as the number of fields its response can contain.
+ * <p>
+ * Every field costs 1, and the fields selected under a list are multiplied by the expected size of the list. That is
+ * the default value of its first/last argument when the schema declares one, or the default list size otherwise. The
+ * fragments on the possible types of an abstract type are alternatives, so only the most expensive one is counted, and
+ * __typename is free.
+ */
+public class QueryCost {
+
+    public static final int DEFAULT_LIST_SIZE = 10;
+
+    private static final List<String> PAGE_SIZE_ARGUMENTS = Arrays.asList("first", "last");
+
+    private final Schema schema;
+
+    private final int defaultListSize;
+
+    public QueryCost(Schema schema) {
+        this(schema, DEFAULT_LIST_SIZE);
+    }
+
+    public QueryCost(Schema schema, int defaultListSize) {
+        this.schema = schema;
+        this.defaultListSize = defaultListSize;
+    }
+
+    /**
+     * @param operation a generated query, estimated from its selections without rendering, or parsing, it
+     * @return the estimated cost
+     */
+    public long estimate(Operation operation) {
+        Map<String, FragmentDefinition> fragments = operation.getFragments()
+                .stream()
+                .collect(toMap(FragmentDefinition::getName, Function.identity()));
+        return estimate(schema.getOperationTypeName(operation.getType()), operation.getSelectionSet(), fragments);
+    }
+
+    private long estimate(String type, SelectionSet selectionSet, Map<String, FragmentDefinition> fragments) {
+        long fields = 0;
+        long alternatives = 0;
+        for (Selection selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                fields = add(fields, estimate(type, (Field) selection, fragments));
+                continue;
+            }
+            String condition;
+            SelectionSet fragment;
+            if (selection instanceof InlineFragment) {
+                InlineFragment inline = (InlineFragment) selection;
+                condition = inline.getTypeCondition() == null ? type : inline.getTypeCondition();
+                fragment = inline.getSelectionSet();
+            } else if (selection instanceof FragmentSpread && fragments.containsKey(((FragmentSpread) selection).getName())) {
+                FragmentDefinition definition = fragments.get(((FragmentSpread) selection).getName());
+                condition = definition.getTypeCondition();
+                fragment = definition.getSelectionSet();
+            } else {
+                continue;
+            }
+            long cost = estimate(condition, fragment, fragments);
+            if (condition.equals(type)) {
+                fields = add(fields, cost);
+            } else {
+                alternatives = Math.max(alternatives, cost);
+            }
+        }
+        return add(fields, alternatives);
+    }
+
+    private long estimate(String type, Field field, Map<String, FragmentDefinition> fragments) {
+        if (field.getName().startsWith("__")) {
+            return 0;
+        }
+        Optional<FieldDefinition> definition = schema.findField(type, field.getName());
+        if (!definition.isPresent()) {
+            return 1;
+        }
+        long cost = 1;
+        if (field.hasSelectionSet()) {
+            cost = add(cost, estimate(Schema.unwrap(definition.get().getType()), field.getSelectionSet(), fragments));
+        }
+        return multiply(cost, getListSize(definition.get()));
+    }
+
+    /**
+     * @return the expected number of items returned by the field, 1 if it isn't a list
+     */
+    public int getListSize(FieldDefinition field) {
+        if (!Schema.isList(field.getType())) {
+            return 1;
+        }
+        return field.getInputValueDefinitions()
+                .stream()
+                .filter(arg -> PAGE_SIZE_ARGUMENTS.contains(arg.getName()))
+                .filter(arg -> arg.getDefaultValue() instanceof IntValue)
+                .map(arg -> ((IntValue) arg.getDefaultValue()).getValue().intValue())
+                .findFirst()
+                .orElse(defaultListSize);
+    }
+
+    // saturates rather than overflowing, a query this expensive is over any budget anyway
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long multiply(long a, long b) {
+        if (a != 0 && b > Long.MAX_VALUE / a) {
+            return Long.MAX_VALUE;
+        }
+        return a * b;
+    }
+
+}
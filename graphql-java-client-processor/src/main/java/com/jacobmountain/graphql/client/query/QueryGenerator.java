@@ -1,14 +1,22 @@
 package com.jacobmountain.graphql.client.query;
 
 import com.jacobmountain.graphql.client.exceptions.FieldNotFoundException;
+import com.jacobmountain.graphql.client.query.ast.*;
 import com.jacobmountain.graphql.client.query.filters.*;
 import com.jacobmountain.graphql.client.query.selectors.DefaultFieldSelector;
 import com.jacobmountain.graphql.client.query.selectors.DelegatingFieldSelector;
 import com.jacobmountain.graphql.client.query.selectors.InlineFragmentRenderer;
+import com.jacobmountain.graphql.client.query.selectors.TypeSpecificFieldSelector;
 import com.jacobmountain.graphql.client.utils.Schema;
 import com.jacobmountain.graphql.client.utils.StringUtils;
 import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection;
-import graphql.language.*;
+import com.jacobmountain.graphql.client.visitor.MethodDetails;
+import com.jacobmountain.graphql.client.visitor.Parameter;
+import graphql.language.EnumTypeDefinition;
+import graphql.language.FieldDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.NonNullType;
+import graphql.language.TypeDefinition;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -19,8 +27,33 @@ public class QueryGenerator {
 
     private final Schema schema;
 
+    private final QueryStyle style;
+
+    private final QueryCost cost;
+
+    private final boolean namedFragments;
+
     public QueryGenerator(Schema registry) {
+        this(registry, QueryStyle.COMPACT);
+    }
+
+    public QueryGenerator(Schema registry, QueryStyle style) {
+        this(registry, style, new QueryCost(registry));
+    }
+
+    public QueryGenerator(Schema registry, QueryStyle style, QueryCost cost) {
+        this(registry, style, cost, false);
+    }
+
+    /**
+     * @param namedFragments whether the selection sets repeated within a query are hoisted into named fragments, see
+     *                       FragmentExtractor
+     */
+    public QueryGenerator(Schema registry, QueryStyle style, QueryCost cost, boolean namedFragments) {
         this.schema = registry;
+        this.style = style;
+        this.cost = cost;
+        this.namedFragments = namedFragments;
     }
 
     public QueryBuilder query() {
@@ -35,32 +68,108 @@ public class QueryGenerator {
         return new QueryBuilder("subscription");
     }
 
-    private String doGenerateQuery(String request, String field, String type, Set<String> params, List<FieldFilter> filters) {
+    /**
+     * @return the query, in the style of this generator
+     */
+    public String render(Operation operation) {
+        return operation.render(style);
+    }
+
+    /**
+     * Configures the query of a client method, with its selections, exclusions, depth, budget and directives. Both
+     * the query of the method and the DTOs reachable from it are worked out from this, so the two can't drift apart
+     *
+     * @param method the method of the client
+     * @return the builder of the method's query
+     */
+    public QueryBuilder forMethod(MethodDetails method) {
+        QueryBuilder builder;
+        if (method.isQuery()) {
+            builder = query();
+        } else if (method.isMutation()) {
+            builder = mutation();
+        } else if (method.isSubscription()) {
+            builder = subscription();
+        } else {
+            throw new IllegalStateException();
+        }
+        for (Parameter parameter : method.getParameters()) {
+            parameter.getIncludes().forEach(field -> builder.include(field, parameter.getName()));
+            parameter.getSkips().forEach(field -> builder.skip(field, parameter.getName()));
+        }
+        return builder
+                .select(method.getSelections())
+                .exclude(
+                        method.getExclusions()
+                                .stream()
+                                .map(GraphQLFieldSelection::new)
+                                .collect(Collectors.toList())
+                )
+                .maxDepth(method.getMaxDepth())
+                .costBudget(method.getCostBudget());
+    }
+
+    private Operation doGenerateQuery(String request, String field, String type, Set<String> params, List<FieldFilter> filters) {
         FieldDefinition definition = schema.findField(field).orElseThrow(FieldNotFoundException.create(field));
 
-        final QueryContext root = new QueryContext(null, 0, definition, params, new HashSet<>());
-        String inner = generateFieldSelection(field, root, filters)
+        int pathDepth = filters.stream()
+                .mapToInt(FieldFilter::getPathDepth)
+                .max()
+                .orElse(0);
+        final QueryContext root = new QueryContext(null, 0, definition, params, new LinkedHashSet<>(), new SelectionCache(pathDepth));
+        Field inner = generateFieldSelection(field, root, filters)
                 .orElseThrow(RuntimeException::new);
 
-        String collect = String.join(", ", root.getArgs());
+        return new Operation(
+                type,
+                generateQueryName(request, field),
+                new ArrayList<>(root.getArgs()),
+                new SelectionSet(Collections.singletonList(inner))
+        );
+    }
 
-        if (!root.getArgs().isEmpty()) {
-            collect = "(" + collect + ")";
+    private String generateQueryName(String request, String field) {
+        if (StringUtils.isEmpty(request)) {
+            request = StringUtils.capitalize(field);
         }
+        return request;
+    }
 
-        return generateQueryName(request, type, field) + collect + " { " + inner + " }";
+    public Optional<Field> generateFieldSelection(String alias,
+                                                  QueryContext context,
+                                                  List<FieldFilter> filters) {
+        return generateSelection(alias, context, filters);
     }
 
-    private String generateQueryName(String request, String type, String field) {
-        if (StringUtils.isEmpty(request)) {
-            request = StringUtils.capitalize(field);
+    /**
+     * Generates the selection of an inline fragment, only the fields that the type adds to the interface are selected,
+     * the others, and __typename, are already selected alongside the fragment. Unlike other selections, fragments are
+     * never memoized
+     *
+     * @param type                the type condition of the fragment
+     * @param interfaceDefinition the interface the type implements
+     */
+    public Optional<InlineFragment> generateFragmentSelection(String type,
+                                                              TypeDefinition<?> interfaceDefinition,
+                                                              QueryContext context,
+                                                              List<FieldFilter> filters) {
+        // the fields of the fragment are filtered as fields of the enclosing type, so the fragment itself isn't
+        TypeDefinition<?> typeDefinition = schema.getTypeDefinition(type).orElse(null);
+        if (Objects.isNull(typeDefinition)) {
+            return Optional.empty();
         }
-        return type + " " + request;
+        List<Selection> selections = new TypeSpecificFieldSelector(schema, this, interfaceDefinition)
+                .selectFields(typeDefinition, context, filters)
+                .collect(Collectors.toList());
+        if (selections.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new InlineFragment(type, new SelectionSet(selections)));
     }
 
-    public Optional<String> generateFieldSelection(String alias,
-                                                   QueryContext context,
-                                                   List<FieldFilter> filters) {
+    private Optional<Field> generateSelection(String alias,
+                                              QueryContext context,
+                                              List<FieldFilter> filters) {
         String type = Schema.unwrap(context.getFieldDefinition().getType());
         TypeDefinition<?> typeDefinition = schema.getTypeDefinition(type).orElse(null);
 
@@ -68,18 +177,27 @@ public class QueryGenerator {
             return Optional.empty();
         }
 
-        String args = generateFieldArgs(context);
+        List<Argument> args = generateFieldArgs(context);
         if (Objects.isNull(typeDefinition) || typeDefinition.getChildren().isEmpty() || typeDefinition instanceof EnumTypeDefinition) {
-            return Optional.of(alias + args);
+            return Optional.of(new Field(alias, args, null));
         }
 
-        return new DelegatingFieldSelector(
+        return context.getCache()
+                .computeIfAbsent(type, context, () -> selectFields(typeDefinition, context, filters))
+                .map(it -> new Field(alias, args, it));
+    }
+
+    private Optional<SelectionSet> selectFields(TypeDefinition<?> typeDefinition, QueryContext context, List<FieldFilter> filters) {
+        List<Selection> selections = new DelegatingFieldSelector(
                 new DefaultFieldSelector(schema, this),
                 new InlineFragmentRenderer(schema, this)
         )
                 .selectFields(typeDefinition, context, filters)
-                .map(children -> alias + args + " " + children)
-                .findFirst();
+                .collect(Collectors.toList());
+        if (selections.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(new SelectionSet(selections));
     }
 
     public class QueryBuilder {
@@ -88,6 +206,10 @@ public class QueryGenerator {
 
         private final List<FieldFilter> filters = new ArrayList<>();
 
+        private int costBudget = 0;
+
+        private final FieldDirectives directives = new FieldDirectives();
+
         QueryBuilder(String type) {
             this.type = type;
         }
@@ -102,31 +224,77 @@ public class QueryGenerator {
             return this;
         }
 
+        public QueryBuilder exclude(List<GraphQLFieldSelection> exclusions) {
+            this.filters.add(new ExclusionFieldFilter(exclusions));
+            return this;
+        }
+
+        /**
+         * Selects fields breadth-first, and only as many as fit within the budget, see CostBudget
+         *
+         * @param costBudget the maximum estimated cost of the query, 0 for no limit
+         */
+        public QueryBuilder costBudget(int costBudget) {
+            this.costBudget = costBudget;
+            return this;
+        }
+
+        /**
+         * Only selects a field when a variable is true, with the @include directive, see FieldDirectives
+         *
+         * @param field    the path of the field
+         * @param variable the name of the Boolean! variable
+         */
+        public QueryBuilder include(GraphQLFieldSelection field, String variable) {
+            this.directives.add("include", field, variable);
+            return this;
+        }
+
+        /**
+         * Leaves out a field when a variable is true, with the @skip directive, see FieldDirectives
+         *
+         * @param field    the path of the field
+         * @param variable the name of the Boolean! variable
+         */
+        public QueryBuilder skip(GraphQLFieldSelection field, String variable) {
+            this.directives.add("skip", field, variable);
+            return this;
+        }
+
         public String build(String request, String field, Set<String> params) {
+            return render(buildOperation(request, field, params));
+        }
+
+        public Operation buildOperation(String request, String field, Set<String> params) {
             this.filters.add(new AllNonNullArgsFieldFilter());
             this.filters.add(new FieldDuplicationFilter());
-            return doGenerateQuery(request, field, type, params, filters);
+            Operation operation = doGenerateQuery(request, field, type, params, filters);
+            // the directives go first, so the budget keeps the fields they apply to
+            if (!directives.isEmpty()) {
+                operation = directives.apply(operation);
+            }
+            if (costBudget > 0) {
+                operation = new CostBudget(schema, cost, costBudget).apply(operation);
+            }
+            if (namedFragments) {
+                operation = new FragmentExtractor(schema).apply(operation);
+            }
+            return operation;
         }
     }
 
-    private String generateFieldArgs(QueryContext context) {
+    private List<Argument> generateFieldArgs(QueryContext context) {
         List<InputValueDefinition> args = context.getFieldDefinition().getInputValueDefinitions();
         Set<String> finalParams = new HashSet<>(context.getParams());
-        String collect = args.stream()
+        return args.stream()
                 .filter(o -> finalParams.remove(o.getName()))
                 .peek(arg -> {
                     boolean nonNull = arg.getType() instanceof NonNullType;
                     String type = Schema.unwrap(arg.getType());
-                    context.newArg(
-                            "$" + arg.getName() + ": " + type + (nonNull ? "!" : "")
-                    );
+                    context.newArg(new Variable(arg.getName(), type + (nonNull ? "!" : "")));
                 })
-                .map(arg -> arg.getName() + ": $" + arg.getName())
-                .collect(Collectors.joining(", "));
-        if (StringUtils.isEmpty(collect)) {
-            return "";
-        }
-        return "(" + collect + ")";
+                .map(arg -> new Argument(arg.getName(), arg.getName()))
+                .collect(Collectors.toList());
     }
 
 }
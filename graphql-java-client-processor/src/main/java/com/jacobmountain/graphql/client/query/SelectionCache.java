@@ -0,0 +1,75 @@
+package com.jacobmountain.graphql.client.query;
+
+import com.jacobmountain.graphql.client.query.ast.SelectionSet;
+import com.jacobmountain.graphql.client.query.ast.Variable;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the selection sets generated while generating a single query, so a type that is reached many times at the
+ * same depth (e.g. Character.friends under hero under friends) is only expanded once.
+ * <p>
+ * A cache lives for one query, so the available params and the filters are the same for every entry, and the
+ * selection set of a type only depends on the type and its depth. Unless the filters select or exclude fields by their
+ * path, then down to the deepest of those paths it also depends on the path.
+ */
+public class SelectionCache {
+
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private final int pathDepth;
+
+    public SelectionCache() {
+        this(0);
+    }
+
+    /**
+     * @param pathDepth the depth down to which the selection set of a type depends on its path
+     */
+    public SelectionCache(int pathDepth) {
+        this.pathDepth = pathDepth;
+    }
+
+    public Optional<SelectionSet> computeIfAbsent(String type, QueryContext context, Supplier<Optional<SelectionSet>> generator) {
+        String key = type + ":" + context.getDepth();
+        if (context.getDepth() < pathDepth) {
+            key += ":" + String.join(".", context.getPath());
+        }
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            // the args used by the selection need declaring on this query too
+            entry.args.forEach(context::newArg);
+            return entry.selection;
+        }
+        Set<Variable> before = new HashSet<>(context.getArgs());
+        Optional<SelectionSet> selection = generator.get();
+        Set<Variable> args = new LinkedHashSet<>(context.getArgs());
+        args.removeAll(before);
+        entries.put(key, new Entry(selection, args));
+        return selection;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static class Entry {
+
+        private final Optional<SelectionSet> selection;
+
+        private final Set<Variable> args;
+
+        private Entry(Optional<SelectionSet> selection, Set<Variable> args) {
+            this.selection = selection;
+            this.args = args;
+        }
+
+    }
+
+}
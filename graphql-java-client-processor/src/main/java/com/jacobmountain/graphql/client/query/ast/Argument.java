@@ -0,0 +1,15 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+/**
+ * An argument of a field, bound to a variable of the operation
+ */
+@Value
+public class Argument {
+
+    String name;
+
+    String variable;
+
+}
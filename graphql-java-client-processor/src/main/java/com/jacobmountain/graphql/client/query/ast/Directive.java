@@ -0,0 +1,17 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * A directive of a field, e.g. @include(if: $withFriends)
+ */
+@Value
+public class Directive {
+
+    String name;
+
+    List<Argument> arguments;
+
+}
@@ -0,0 +1,41 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+@Value
+@AllArgsConstructor
+public class Field implements Selection {
+
+    String name;
+
+    List<Argument> arguments;
+
+    /**
+     * The selection set of the field, null for scalars and enums
+     */
+    SelectionSet selectionSet;
+
+    List<Directive> directives;
+
+    public Field(String name) {
+        this(name, Collections.emptyList(), null);
+    }
+
+    public Field(String name, List<Argument> arguments, SelectionSet selectionSet) {
+        this(name, arguments, selectionSet, Collections.emptyList());
+    }
+
+    public boolean hasSelectionSet() {
+        return selectionSet != null;
+    }
+
+    @Override
+    public void accept(QueryRenderer renderer) {
+        renderer.render(this);
+    }
+
+}
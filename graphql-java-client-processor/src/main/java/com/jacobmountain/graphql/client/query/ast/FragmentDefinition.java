@@ -0,0 +1,17 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+/**
+ * A named fragment, rendered after the operation that spreads it, e.g. fragment PersonFields on Person { id name }
+ */
+@Value
+public class FragmentDefinition {
+
+    String name;
+
+    String typeCondition;
+
+    SelectionSet selectionSet;
+
+}
@@ -0,0 +1,18 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+/**
+ * A reference to a named fragment of the operation, e.g. ...PersonFields
+ */
+@Value
+public class FragmentSpread implements Selection {
+
+    String name;
+
+    @Override
+    public void accept(QueryRenderer renderer) {
+        renderer.render(this);
+    }
+
+}
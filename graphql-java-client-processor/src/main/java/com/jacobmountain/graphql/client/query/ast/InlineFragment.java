@@ -0,0 +1,17 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+@Value
+public class InlineFragment implements Selection {
+
+    String typeCondition;
+
+    SelectionSet selectionSet;
+
+    @Override
+    public void accept(QueryRenderer renderer) {
+        renderer.render(this);
+    }
+
+}
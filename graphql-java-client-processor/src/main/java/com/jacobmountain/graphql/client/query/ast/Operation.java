@@ -0,0 +1,37 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The root of a generated query, mutation or subscription
+ */
+@Value
+@AllArgsConstructor
+public class Operation {
+
+    String type;
+
+    String name;
+
+    List<Variable> variables;
+
+    SelectionSet selectionSet;
+
+    /**
+     * The named fragments spread within the selection set
+     */
+    List<FragmentDefinition> fragments;
+
+    public Operation(String type, String name, List<Variable> variables, SelectionSet selectionSet) {
+        this(type, name, variables, selectionSet, Collections.emptyList());
+    }
+
+    public String render(QueryStyle style) {
+        return new QueryRenderer(style).render(this);
+    }
+
+}
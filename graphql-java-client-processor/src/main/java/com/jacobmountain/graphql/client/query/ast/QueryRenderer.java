@@ -0,0 +1,140 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import java.util.List;
+
+/**
+ * Renders an operation into a single buffer, so the query text is only copied once however deep it is
+ */
+public class QueryRenderer {
+
+    private static final String INDENT = "  ";
+
+    private final QueryStyle style;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private int depth = 0;
+
+    public QueryRenderer(QueryStyle style) {
+        this.style = style;
+    }
+
+    public String render(Operation operation) {
+        builder.append(operation.getType()).append(' ').append(operation.getName());
+        List<Variable> variables = operation.getVariables();
+        if (!variables.isEmpty()) {
+            builder.append('(');
+            for (int i = 0; i < variables.size(); i++) {
+                if (i > 0) {
+                    separator();
+                }
+                Variable variable = variables.get(i);
+                builder.append('$').append(variable.getName());
+                colon();
+                builder.append(variable.getType());
+            }
+            builder.append(')');
+        }
+        render(operation.getSelectionSet());
+        for (FragmentDefinition fragment : operation.getFragments()) {
+            if (style == QueryStyle.PRETTY) {
+                builder.append("\n\n");
+            } else if (style == QueryStyle.COMPACT) {
+                builder.append(' ');
+            }
+            builder.append("fragment ").append(fragment.getName()).append(" on ").append(fragment.getTypeCondition());
+            render(fragment.getSelectionSet());
+        }
+        return builder.toString();
+    }
+
+    void render(Field field) {
+        builder.append(field.getName());
+        render(field.getArguments());
+        for (Directive directive : field.getDirectives()) {
+            if (style != QueryStyle.MINIFIED) {
+                builder.append(' ');
+            }
+            builder.append('@').append(directive.getName());
+            render(directive.getArguments());
+        }
+        if (field.hasSelectionSet()) {
+            render(field.getSelectionSet());
+        }
+    }
+
+    private void render(List<Argument> arguments) {
+        if (arguments.isEmpty()) {
+            return;
+        }
+        builder.append('(');
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i > 0) {
+                separator();
+            }
+            Argument argument = arguments.get(i);
+            builder.append(argument.getName());
+            colon();
+            builder.append('$').append(argument.getVariable());
+        }
+        builder.append(')');
+    }
+
+    void render(InlineFragment fragment) {
+        builder.append(style == QueryStyle.MINIFIED ? "...on " : "... on ").append(fragment.getTypeCondition());
+        render(fragment.getSelectionSet());
+    }
+
+    void render(FragmentSpread spread) {
+        builder.append("...").append(spread.getName());
+    }
+
+    private void render(SelectionSet selectionSet) {
+        if (style != QueryStyle.MINIFIED) {
+            builder.append(' ');
+        }
+        builder.append('{');
+        depth++;
+        List<Selection> selections = selectionSet.getSelections();
+        for (int i = 0; i < selections.size(); i++) {
+            Selection selection = selections.get(i);
+            if (style == QueryStyle.PRETTY) {
+                newLine();
+            } else if (style == QueryStyle.COMPACT || (i > 0 && selection instanceof Field && endsWithName())) {
+                builder.append(' ');
+            }
+            selection.accept(this);
+        }
+        depth--;
+        if (style == QueryStyle.PRETTY) {
+            newLine();
+        } else if (style == QueryStyle.COMPACT) {
+            builder.append(' ');
+        }
+        builder.append('}');
+    }
+
+    /**
+     * Whether a following name needs separating from the end of the buffer, a name can follow punctuation directly
+     */
+    private boolean endsWithName() {
+        char last = builder.charAt(builder.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_';
+    }
+
+    private void separator() {
+        builder.append(style == QueryStyle.MINIFIED ? "," : ", ");
+    }
+
+    private void colon() {
+        builder.append(style == QueryStyle.MINIFIED ? ":" : ": ");
+    }
+
+    private void newLine() {
+        builder.append('\n');
+        for (int i = 0; i < depth; i++) {
+            builder.append(INDENT);
+        }
+    }
+
+}
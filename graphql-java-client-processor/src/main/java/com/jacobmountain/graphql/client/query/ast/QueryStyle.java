@@ -0,0 +1,20 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+public enum QueryStyle {
+
+    /**
+     * A single line, with spaces inside braces and after separators, e.g. query Hero { hero { id __typename } }
+     */
+    COMPACT,
+
+    /**
+     * A single line, without any optional whitespace, e.g. query Hero{hero{id __typename}}
+     */
+    MINIFIED,
+
+    /**
+     * One selection per line, indented by two spaces
+     */
+    PRETTY
+
+}
@@ -0,0 +1,10 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+/**
+ * A node of a generated selection set, either a field, an inline fragment or a fragment spread
+ */
+public interface Selection {
+
+    void accept(QueryRenderer renderer);
+
+}
@@ -0,0 +1,12 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class SelectionSet {
+
+    List<Selection> selections;
+
+}
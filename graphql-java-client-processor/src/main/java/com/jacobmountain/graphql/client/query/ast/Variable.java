@@ -0,0 +1,15 @@
+package com.jacobmountain.graphql.client.query.ast;
+
+import lombok.Value;
+
+/**
+ * A variable declared by an operation
+ */
+@Value
+public class Variable {
+
+    String name;
+
+    String type;
+
+}
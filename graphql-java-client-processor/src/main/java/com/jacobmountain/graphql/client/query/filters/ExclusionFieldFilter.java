@@ -0,0 +1,41 @@
+package com.jacobmountain.graphql.client.query.filters;
+
+import com.jacobmountain.graphql.client.query.QueryContext;
+import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Leaves out the excluded fields under the root field, along with every field under them, an exclusion can be a path,
+ * e.g. friends.friendsConnection
+ */
+public class ExclusionFieldFilter implements FieldFilter {
+
+    private final List<List<String>> exclusions;
+
+    public ExclusionFieldFilter(List<GraphQLFieldSelection> exclusions) {
+        this.exclusions = exclusions.stream()
+                .map(GraphQLFieldSelection::getPath)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean shouldAddField(QueryContext context) {
+        if (context.getDepth() < 1 || exclusions.isEmpty()) {
+            return true;
+        }
+        List<String> path = context.getPath();
+        return exclusions.stream()
+                .noneMatch(exclusion -> SelectionFieldFilter.startsWith(path, exclusion));
+    }
+
+    @Override
+    public int getPathDepth() {
+        return exclusions.stream()
+                .mapToInt(List::size)
+                .max()
+                .orElse(0);
+    }
+
+}
@@ -7,4 +7,12 @@ public interface FieldFilter {
 
     boolean shouldAddField(QueryContext context);
 
+    /**
+     * @return the depth down to which whether a field is added depends on its path, rather than only on its depth and
+     * type, 0 if it never does
+     */
+    default int getPathDepth() {
+        return 0;
+    }
+
 }
@@ -2,24 +2,44 @@ package com.jacobmountain.graphql.client.query.filters;
 
 import com.jacobmountain.graphql.client.query.QueryContext;
 import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection;
-import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
+/**
+ * Only adds the selected fields under the root field, a selection can be a path, e.g. friends.name, which also adds
+ * the fields along the way. Every field under a selected field is added, down to the max depth.
+ */
 public class SelectionFieldFilter implements FieldFilter {
 
-    private final List<GraphQLFieldSelection> selections;
+    private final List<List<String>> selections;
+
+    public SelectionFieldFilter(List<GraphQLFieldSelection> selections) {
+        this.selections = selections.stream()
+                .map(GraphQLFieldSelection::getPath)
+                .collect(Collectors.toList());
+    }
 
     @Override
     public boolean shouldAddField(QueryContext context) {
-        if (context.getDepth() == 1 && selections.size() > 0) {
-            String field = context.getFieldDefinition().getName();
-            return selections
-                    .stream()
-                    .map(GraphQLFieldSelection::getValue)
-                    .anyMatch(field::equals);
+        if (context.getDepth() < 1 || selections.isEmpty()) {
+            return true;
         }
-        return true;
+        List<String> path = context.getPath();
+        return selections.stream()
+                .anyMatch(selection -> startsWith(selection, path) || startsWith(path, selection));
+    }
+
+    @Override
+    public int getPathDepth() {
+        return selections.stream()
+                .mapToInt(List::size)
+                .max()
+                .orElse(0);
+    }
+
+    static boolean startsWith(List<String> path, List<String> prefix) {
+        return path.size() >= prefix.size() && path.subList(0, prefix.size()).equals(prefix);
     }
+
 }
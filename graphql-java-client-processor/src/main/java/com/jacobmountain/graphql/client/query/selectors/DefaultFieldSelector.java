@@ -2,6 +2,7 @@ package com.jacobmountain.graphql.client.query.selectors;
 
 import com.jacobmountain.graphql.client.query.QueryContext;
 import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.query.ast.Selection;
 import com.jacobmountain.graphql.client.query.filters.FieldFilter;
 import com.jacobmountain.graphql.client.utils.OptionalUtils;
 import com.jacobmountain.graphql.client.utils.Schema;
@@ -20,7 +21,7 @@ public class DefaultFieldSelector implements FieldSelector {
     private final QueryGenerator queryGenerator;
 
     @Override
-    public Stream<String> selectFields(TypeDefinition<?> typeDefinition, QueryContext context, List<FieldFilter> filters) {
+    public Stream<Selection> selectFields(TypeDefinition<?> typeDefinition, QueryContext context, List<FieldFilter> filters) {
         return schema.getChildren(typeDefinition)
                 .filter(this::filter)
                 .map(child -> queryGenerator.generateFieldSelection(
@@ -28,7 +29,7 @@ public class DefaultFieldSelector implements FieldSelector {
                         context.withType(child).increment(),
                         filters
                 ))
-                .flatMap(OptionalUtils::toStream);
+                .<Selection>flatMap(OptionalUtils::toStream);
     }
 
     protected boolean filter(FieldDefinition fieldDefinition) {
@@ -1,15 +1,20 @@
 package com.jacobmountain.graphql.client.query.selectors;
 
 import com.jacobmountain.graphql.client.query.QueryContext;
+import com.jacobmountain.graphql.client.query.ast.Field;
+import com.jacobmountain.graphql.client.query.ast.Selection;
 import com.jacobmountain.graphql.client.query.filters.FieldFilter;
 import graphql.language.TypeDefinition;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DelegatingFieldSelector implements FieldSelector {
 
+    private static final Field TYPENAME = new Field("__typename");
+
     private final List<FieldSelector> selectors;
 
     public DelegatingFieldSelector(FieldSelector... selectors) {
@@ -17,17 +22,16 @@ public class DelegatingFieldSelector implements FieldSelector {
     }
 
     @Override
-    public Stream<String> selectFields(TypeDefinition<?> typeDefinition,
-                                       QueryContext context,
-                                       List<FieldFilter> filters) {
-        return selectors.stream()
+    public Stream<Selection> selectFields(TypeDefinition<?> typeDefinition,
+                                          QueryContext context,
+                                          List<FieldFilter> filters) {
+        List<Selection> selections = selectors.stream()
                 .flatMap(selector -> selector.selectFields(typeDefinition, context, filters))
-                .reduce((a, b) -> String.join(" ", a, b))
-                .map(children -> "{ " +
-                        children +
-                        " __typename" +
-                        " }")
-                .map(Stream::of)
-                .orElseGet(Stream::empty);
+                .collect(Collectors.toList());
+        if (selections.isEmpty()) {
+            return Stream.empty();
+        }
+        selections.add(TYPENAME);
+        return selections.stream();
     }
 }
@@ -1,6 +1,7 @@
 package com.jacobmountain.graphql.client.query.selectors;
 
 import com.jacobmountain.graphql.client.query.QueryContext;
+import com.jacobmountain.graphql.client.query.ast.Selection;
 import com.jacobmountain.graphql.client.query.filters.FieldFilter;
 import graphql.language.TypeDefinition;
 
@@ -9,8 +10,8 @@ import java.util.stream.Stream;
 
 public interface FieldSelector {
 
-    Stream<String> selectFields(TypeDefinition<?> typeDefinition,
-                                QueryContext context,
-                                List<FieldFilter> filters);
+    Stream<Selection> selectFields(TypeDefinition<?> typeDefinition,
+                                   QueryContext context,
+                                   List<FieldFilter> filters);
 
 }
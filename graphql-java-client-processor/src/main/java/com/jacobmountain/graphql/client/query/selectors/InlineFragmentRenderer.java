@@ -2,6 +2,7 @@ package com.jacobmountain.graphql.client.query.selectors;
 
 import com.jacobmountain.graphql.client.query.QueryContext;
 import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.query.ast.Selection;
 import com.jacobmountain.graphql.client.query.filters.FieldFilter;
 import com.jacobmountain.graphql.client.utils.Schema;
 import graphql.language.FieldDefinition;
@@ -21,15 +22,15 @@ public class InlineFragmentRenderer implements FieldSelector {
     private final QueryGenerator queryGenerator;
 
     @Override
-    public Stream<String> selectFields(TypeDefinition<?> typeDefinition, QueryContext context, List<FieldFilter> filters) {
+    public Stream<Selection> selectFields(TypeDefinition<?> typeDefinition, QueryContext context, List<FieldFilter> filters) {
         return schema.getTypesImplementing(typeDefinition)
-                .map(interfac -> queryGenerator.generateFieldSelection(
+                .map(interfac -> queryGenerator.generateFragmentSelection(
                         interfac,
+                        typeDefinition,
                         context.withType(new FieldDefinition(interfac, new TypeName(interfac))),
                         filters
                 ))
                 .filter(Optional::isPresent)
-                .map(Optional::get)
-                .map(query -> "... on " + query);
+                .<Selection>map(Optional::get);
     }
 }
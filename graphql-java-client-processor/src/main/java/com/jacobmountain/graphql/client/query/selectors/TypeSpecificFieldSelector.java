@@ -0,0 +1,29 @@
+package com.jacobmountain.graphql.client.query.selectors;
+
+import com.jacobmountain.graphql.client.query.QueryGenerator;
+import com.jacobmountain.graphql.client.utils.Schema;
+import graphql.language.FieldDefinition;
+import graphql.language.TypeDefinition;
+
+/**
+ * Selects the fields of a type implementing an interface, apart from the fields declared by the interface itself, which
+ * are already selected alongside the inline fragment of the type
+ */
+public class TypeSpecificFieldSelector extends DefaultFieldSelector {
+
+    private final Schema schema;
+
+    private final TypeDefinition<?> interfaceDefinition;
+
+    public TypeSpecificFieldSelector(Schema schema, QueryGenerator queryGenerator, TypeDefinition<?> interfaceDefinition) {
+        super(schema, queryGenerator);
+        this.schema = schema;
+        this.interfaceDefinition = interfaceDefinition;
+    }
+
+    @Override
+    protected boolean filter(FieldDefinition fieldDefinition) {
+        return !schema.findField(interfaceDefinition.getName(), fieldDefinition.getName()).isPresent();
+    }
+
+}
@@ -0,0 +1,53 @@
+package com.jacobmountain.graphql.client.report;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The phases of generating a client, and the size of the query of each of its methods
+ */
+@Getter
+public class ClientReport {
+
+    private final String client;
+
+    private final String schema;
+
+    private final Map<String, Phase> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final List<MethodReport> methods = new ArrayList<>();
+
+    public ClientReport(String client, String schema) {
+        this.client = client;
+        this.schema = schema;
+    }
+
+    /**
+     * @return the named phase, created empty on first use
+     */
+    public Phase phase(String name) {
+        return phases.computeIfAbsent(name, it -> new Phase());
+    }
+
+    public synchronized void method(MethodReport method) {
+        methods.add(method);
+    }
+
+    synchronized void toJson(Json json) {
+        json.beginObject()
+                .name("client").value(client)
+                .name("schema").value(schema)
+                .name("phases");
+        Reports.phases(json, phases);
+        json.name("methods").beginArray();
+        methods.forEach(method -> method.toJson(json));
+        json.endArray()
+                .endObject();
+    }
+
+}
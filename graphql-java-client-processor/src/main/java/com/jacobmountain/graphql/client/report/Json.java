@@ -0,0 +1,141 @@
+package com.jacobmountain.graphql.client.report;
+
+import java.util.Locale;
+
+/**
+ * A minimal streaming JSON writer, enough for the report and the operation manifests without adding a JSON library to
+ * the processor
+ */
+public class Json {
+
+    private final StringBuilder builder = new StringBuilder();
+
+    private int depth = 0;
+
+    private boolean first = true;
+
+    private boolean afterName = false;
+
+    public Json beginObject() {
+        return open('{');
+    }
+
+    public Json endObject() {
+        return close('}');
+    }
+
+    public Json beginArray() {
+        return open('[');
+    }
+
+    public Json endArray() {
+        return close(']');
+    }
+
+    public Json name(String name) {
+        separate();
+        string(name);
+        builder.append(": ");
+        afterName = true;
+        return this;
+    }
+
+    public Json value(String value) {
+        separate();
+        if (value == null) {
+            builder.append("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public Json value(long value) {
+        separate();
+        builder.append(value);
+        return this;
+    }
+
+    public Json value(double value) {
+        separate();
+        builder.append(String.format(Locale.ROOT, "%.3f", value));
+        return this;
+    }
+
+    private Json open(char bracket) {
+        separate();
+        builder.append(bracket);
+        depth++;
+        first = true;
+        return this;
+    }
+
+    private Json close(char bracket) {
+        depth--;
+        if (!first) {
+            newLine();
+        }
+        builder.append(bracket);
+        first = false;
+        return this;
+    }
+
+    private void separate() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth == 0) {
+            return;
+        }
+        if (!first) {
+            builder.append(',');
+        }
+        newLine();
+        first = false;
+    }
+
+    private void newLine() {
+        builder.append('\n');
+        for (int i = 0; i < depth; i++) {
+            builder.append("  ");
+        }
+    }
+
+    private void string(String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+
+}
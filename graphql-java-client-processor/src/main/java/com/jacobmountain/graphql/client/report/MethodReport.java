@@ -0,0 +1,87 @@
+package com.jacobmountain.graphql.client.report;
+
+import graphql.language.*;
+import graphql.parser.Parser;
+import lombok.Value;
+
+/**
+ * The size of the query generated for one method of a client
+ */
+@Value
+public class MethodReport {
+
+    String name;
+
+    String operation;
+
+    String field;
+
+    int queryLength;
+
+    /**
+     * The number of fields selected by the query, including __typename
+     */
+    int fields;
+
+    /**
+     * The estimated cost of the query, see QueryCost
+     */
+    long cost;
+
+    /**
+     * The maximum cost of the query, 0 for no limit
+     */
+    int maxCost;
+
+    public static MethodReport of(String name, String operation, String field, String query) {
+        return of(name, operation, field, query, 0, 0);
+    }
+
+    public static MethodReport of(String name, String operation, String field, String query, long cost, int maxCost) {
+        return new MethodReport(name, operation, field, query.length(), countFields(query), cost, maxCost);
+    }
+
+    public boolean isOverBudget() {
+        return maxCost > 0 && cost > maxCost;
+    }
+
+    static int countFields(String query) {
+        Document document = new Parser().parseDocument(query);
+        return document.getDefinitions()
+                .stream()
+                .filter(it -> it instanceof SelectionSetContainer)
+                .mapToInt(it -> countFields(((SelectionSetContainer<?>) it).getSelectionSet()))
+                .sum();
+    }
+
+    private static int countFields(SelectionSet selectionSet) {
+        if (selectionSet == null) {
+            return 0;
+        }
+        int fields = 0;
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                fields++;
+            }
+            if (selection instanceof SelectionSetContainer) {
+                fields += countFields(((SelectionSetContainer<?>) selection).getSelectionSet());
+            }
+        }
+        return fields;
+    }
+
+    void toJson(Json json) {
+        json.beginObject()
+                .name("name").value(name)
+                .name("operation").value(operation)
+                .name("field").value(field)
+                .name("queryLength").value(queryLength)
+                .name("fields").value(fields)
+                .name("cost").value(cost);
+        if (maxCost > 0) {
+            json.name("maxCost").value(maxCost);
+        }
+        json.endObject();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.jacobmountain.graphql.client.report;
+
+import lombok.Getter;
+
+/**
+ * The wall time and allocation of one phase of the processor, phases can be added to, so repeated work (e.g. writing
+ * each file) accumulates in one phase
+ */
+@Getter
+public class Phase {
+
+    private long wallNanos;
+
+    private long allocatedBytes;
+
+    public Phase() {
+        this(0, 0);
+    }
+
+    public Phase(long wallNanos, long allocatedBytes) {
+        this.wallNanos = wallNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public synchronized Phase add(Phase phase) {
+        this.wallNanos += phase.wallNanos;
+        this.allocatedBytes += phase.allocatedBytes;
+        return this;
+    }
+
+    public Phase minus(Phase phase) {
+        return new Phase(
+                Math.max(0, wallNanos - phase.wallNanos),
+                Math.max(0, allocatedBytes - phase.allocatedBytes)
+        );
+    }
+
+    public long getWallMillis() {
+        return wallNanos / 1_000_000;
+    }
+
+    void toJson(Json json) {
+        json.beginObject()
+                .name("wallTimeMs").value(wallNanos / 1_000_000.0)
+                .name("allocatedBytes").value(allocatedBytes)
+                .endObject();
+    }
+
+}
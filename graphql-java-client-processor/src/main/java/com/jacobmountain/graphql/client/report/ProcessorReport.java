@@ -0,0 +1,82 @@
+package com.jacobmountain.graphql.client.report;
+
+import lombok.Getter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records where the processor spends its time, per schema and per client, across every round of a compilation
+ */
+public class ProcessorReport {
+
+    private final Map<String, SchemaReport> schemas = new LinkedHashMap<>();
+
+    private final List<ClientReport> clients = new ArrayList<>();
+
+    @Getter
+    private final Phase total = new Phase();
+
+    public synchronized SchemaReport schema(String schema) {
+        return schemas.computeIfAbsent(schema, SchemaReport::new);
+    }
+
+    public synchronized ClientReport client(String client, String schema) {
+        ClientReport report = new ClientReport(client, schema);
+        clients.add(report);
+        return report;
+    }
+
+    public synchronized boolean isEmpty() {
+        return schemas.isEmpty() && clients.isEmpty();
+    }
+
+    /**
+     * @return a one line summary of the report, e.g. for the Messager
+     */
+    public synchronized String summary() {
+        int types = schemas.values()
+                .stream()
+                .mapToInt(it -> it.getTypes().get())
+                .sum();
+        int methods = clients.stream()
+                .mapToInt(it -> it.getMethods().size())
+                .sum();
+        return String.format(
+                "graphql-java-client generated %d types from %d schema(s) and %d client(s) with %d method(s) in %d ms, allocating %d MB",
+                types,
+                schemas.size(),
+                clients.size(),
+                methods,
+                total.getWallMillis(),
+                total.getAllocatedBytes() / (1024 * 1024)
+        );
+    }
+
+    public synchronized String toJson() {
+        Json json = new Json();
+        json.beginObject()
+                .name("total");
+        total.toJson(json);
+        json.name("schemas").beginArray();
+        schemas.values().forEach(schema -> schema.toJson(json));
+        json.endArray()
+                .name("clients").beginArray();
+        clients.forEach(client -> client.toJson(json));
+        json.endArray()
+                .endObject();
+        return json.toString();
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, toJson().getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.jacobmountain.graphql.client.report;
+
+import java.util.Map;
+
+class Reports {
+
+    private Reports() {
+    }
+
+    static void phases(Json json, Map<String, Phase> phases) {
+        json.beginObject();
+        phases.forEach((name, phase) -> {
+            json.name(name);
+            phase.toJson(json);
+        });
+        json.endObject();
+    }
+
+}
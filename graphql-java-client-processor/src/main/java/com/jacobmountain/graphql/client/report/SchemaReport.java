@@ -0,0 +1,42 @@
+package com.jacobmountain.graphql.client.report;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The phases of loading a schema and generating its DTOs
+ */
+@Getter
+public class SchemaReport {
+
+    private final String schema;
+
+    private final Map<String, Phase> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private final AtomicInteger types = new AtomicInteger();
+
+    SchemaReport(String schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * @return the named phase, created empty on first use
+     */
+    public Phase phase(String name) {
+        return phases.computeIfAbsent(name, it -> new Phase());
+    }
+
+    void toJson(Json json) {
+        json.beginObject()
+                .name("schema").value(schema)
+                .name("types").value(types.get())
+                .name("phases");
+        Reports.phases(json, phases);
+        json.endObject();
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.jacobmountain.graphql.client.report;
+
+import com.jacobmountain.graphql.client.utils.AllocationUtils;
+import com.jacobmountain.graphql.client.utils.WorkerPool;
+
+/**
+ * Measures the wall time and the allocation of a phase, allocation is measured with the ThreadMXBean of HotSpot
+ * based JVMs, and reported as 0 on others, see AllocationUtils.
+ * <p>
+ * A phase run on one thread should be measured with {@link #currentThread()}, a phase that hands work out to a
+ * WorkerPool with {@link #withWorkers(WorkerPool)}, which also counts what the tasks of the pool allocate, but not
+ * any other thread of the JVM (e.g. the other threads of a Gradle daemon).
+ */
+public class Stopwatch {
+
+    private final WorkerPool workers;
+
+    private final long startNanos;
+
+    private final long startBytes;
+
+    private Stopwatch(WorkerPool workers) {
+        this.workers = workers;
+        this.startBytes = allocatedBytes(workers);
+        this.startNanos = System.nanoTime();
+    }
+
+    public static Stopwatch currentThread() {
+        return new Stopwatch(null);
+    }
+
+    public static Stopwatch withWorkers(WorkerPool workers) {
+        return new Stopwatch(workers);
+    }
+
+    public Phase stop() {
+        long nanos = System.nanoTime() - startNanos;
+        return new Phase(nanos, allocatedBytes(workers) - startBytes);
+    }
+
+    private static long allocatedBytes(WorkerPool workers) {
+        long bytes = AllocationUtils.currentThread();
+        if (workers != null) {
+            bytes += workers.getAllocatedBytes();
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.jacobmountain.graphql.client.utils;
+
+import lombok.experimental.UtilityClass;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the bytes allocated by a thread from the ThreadMXBean of HotSpot based JVMs, on others allocation is reported
+ * as 0
+ */
+@UtilityClass
+public class AllocationUtils {
+
+    private final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    /**
+     * @return the bytes allocated by the current thread so far
+     */
+    public long currentThread() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return 0;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return 0;
+        }
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -6,12 +6,14 @@ import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import lombok.experimental.UtilityClass;
 
-import javax.annotation.Generated;
 import java.time.ZonedDateTime;
 
 @UtilityClass
 public class AnnotationUtils {
 
+    // javax.annotation.Generated isn't on the classpath of newer JVMs, e.g. when generating outside of javac
+    public static final ClassName GENERATED_ANNOTATION = ClassName.get("javax.annotation", "Generated");
+
     public static final String JACKSON_ANNOTATIONS_PACKAGE = "com.fasterxml.jackson.annotation";
 
     public static final ClassName JSON_SUB_TYPES_ANNOTATION = ClassName.get(JACKSON_ANNOTATIONS_PACKAGE, "JsonSubTypes");
@@ -27,7 +29,7 @@ public class AnnotationUtils {
             .build();
 
     public static AnnotationSpec generated() {
-        return AnnotationSpec.builder(Generated.class)
+        return AnnotationSpec.builder(GENERATED_ANNOTATION)
                 .addMember("value", "\"$L\"", GraphQLClient.class.getCanonicalName())
                 .addMember("date", "\"$L\"", ZonedDateTime.now())
                 .build();
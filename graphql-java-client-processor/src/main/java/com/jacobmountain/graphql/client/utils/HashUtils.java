@@ -0,0 +1,29 @@
+package com.jacobmountain.graphql.client.utils;
+
+import lombok.SneakyThrows;
+import lombok.experimental.UtilityClass;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@UtilityClass
+public class HashUtils {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    public String sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SneakyThrows
+    public String sha256(byte[] value) {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(value);
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+}
@@ -9,8 +9,7 @@ import lombok.experimental.Delegate;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.Optional;
+import java.util.*;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -28,6 +27,15 @@ public class Schema {
     @Getter
     private final ObjectTypeDefinition subscription;
 
+    // the fields of each object and interface type, in declaration order
+    private final Map<String, Map<String, FieldDefinition>> fields = new HashMap<>();
+
+    // the object types implementing each interface, and the members of each union
+    private final Map<String, List<String>> possibleTypes = new HashMap<>();
+
+    // the fields of the query, mutation and subscription types, the query taking precedence
+    private final Map<String, FieldDefinition> rootFields = new HashMap<>();
+
     public Schema(File file) {
         this(new SchemaParser().parse(file));
     }
@@ -36,11 +44,48 @@ public class Schema {
         this(new SchemaParser().parse(gql));
     }
 
-    private Schema(TypeDefinitionRegistry registry) {
+    Schema(TypeDefinitionRegistry registry) {
         this.registry = registry;
         this.query = getSchemaDefinition("query").orElseThrow(QueryTypeNotFoundException::new);
         this.mutation = getSchemaDefinition("mutation").orElse(null);
         this.subscription = getSchemaDefinition("subscription").orElse(null);
+        index();
+    }
+
+    private void index() {
+        registry.types()
+                .values()
+                .forEach(type -> {
+                    if (type instanceof ObjectTypeDefinition) {
+                        ObjectTypeDefinition object = (ObjectTypeDefinition) type;
+                        indexFields(object.getName(), object.getFieldDefinitions());
+                        object.getImplements().forEach(interfac -> possibleTypes(((TypeName) interfac).getName()).add(object.getName()));
+                    } else if (type instanceof InterfaceTypeDefinition) {
+                        InterfaceTypeDefinition interfac = (InterfaceTypeDefinition) type;
+                        indexFields(interfac.getName(), interfac.getFieldDefinitions());
+                        possibleTypes(interfac.getName());
+                    } else if (type instanceof UnionTypeDefinition) {
+                        UnionTypeDefinition union = (UnionTypeDefinition) type;
+                        union.getMemberTypes().forEach(member -> possibleTypes(union.getName()).add(((TypeName) member).getName()));
+                    }
+                });
+        Stream.of(subscription, mutation, query)
+                .filter(Objects::nonNull)
+                .forEach(root -> rootFields.putAll(getFields(root.getName())));
+    }
+
+    private void indexFields(String type, List<FieldDefinition> definitions) {
+        Map<String, FieldDefinition> byName = new LinkedHashMap<>();
+        definitions.forEach(field -> byName.putIfAbsent(field.getName(), field));
+        fields.put(type, byName);
+    }
+
+    private List<String> possibleTypes(String type) {
+        return possibleTypes.computeIfAbsent(type, it -> new ArrayList<>());
+    }
+
+    private Map<String, FieldDefinition> getFields(String type) {
+        return fields.getOrDefault(type, Collections.emptyMap());
     }
 
     private Optional<ObjectTypeDefinition> getSchemaDefinition(String name) {
@@ -59,27 +104,20 @@ public class Schema {
     }
 
     public Optional<FieldDefinition> findField(String field) {
-        return OptionalUtils.first(
-                findField(query, field),
-                () -> findField(mutation, field),
-                () -> findField(subscription, field)
-        );
+        return Optional.ofNullable(rootFields.get(field));
     }
 
     public Optional<FieldDefinition> findField(ObjectTypeDefinition parent, String field) {
         return Optional.ofNullable(parent)
-                .map(ObjectTypeDefinition::getFieldDefinitions)
-                .orElseGet(ArrayList::new)
-                .stream()
-                .filter(it -> it.getName().equals(field))
-                .findAny();
+                .map(it -> getFields(it.getName()).get(field));
     }
 
     public Optional<FieldDefinition> findField(InterfaceTypeDefinition parent, String field) {
-        return parent.getFieldDefinitions()
-                .stream()
-                .filter(it -> it.getName().equals(field))
-                .findAny();
+        return Optional.ofNullable(getFields(parent.getName()).get(field));
+    }
+
+    public Optional<FieldDefinition> findField(String type, String field) {
+        return Optional.ofNullable(getFields(type).get(field));
     }
 
     public String getQueryTypeName() {
@@ -94,42 +132,57 @@ public class Schema {
         return Optional.ofNullable(subscription).map(ObjectTypeDefinition::getName);
     }
 
+    /**
+     * @param operation query, mutation or subscription
+     * @return the name of the root type of the operation, null if the schema has no root type for it
+     */
+    public String getOperationTypeName(String operation) {
+        if ("mutation".equals(operation)) {
+            return getMutationTypeName().orElse(null);
+        } else if ("subscription".equals(operation)) {
+            return getSubscriptionTypeName().orElse(null);
+        }
+        return getQueryTypeName();
+    }
+
     /**
      * Takes a type definition and returns a stream of types that implement it
      *
      * @param typeDefinition the possible InterfaceTypeDefinition
-     * @return
+     * @return the names of the object types implementing the interface
      */
     public Stream<String> getTypesImplementing(TypeDefinition<?> typeDefinition) {
         if (!(typeDefinition instanceof InterfaceTypeDefinition)) {
             return Stream.empty();
         }
-        return types()
-                .values()
-                .stream()
-                .filter(it -> it instanceof ObjectTypeDefinition)
-                .map(it -> (ObjectTypeDefinition) it)
-                .filter(it -> it.getImplements().stream().anyMatch(ty -> ((TypeName) ty).getName().equals(typeDefinition.getName())))
-                .map((ObjectTypeDefinition impl) -> ((NamedNode<?>) impl).getName());
+        return getPossibleTypes(typeDefinition.getName()).stream();
+    }
+
+    /**
+     * Returns the object types that can be returned in place of an abstract type, those are the types implementing an
+     * interface, or the members of a union
+     *
+     * @param type the name of the interface or union
+     * @return the names of the possible object types, empty for any other type
+     */
+    public List<String> getPossibleTypes(String type) {
+        return Collections.unmodifiableList(possibleTypes.getOrDefault(type, Collections.emptyList()));
     }
 
     public Stream<FieldDefinition> getChildren(TypeDefinition<?> typeDefinition) {
-        return typeDefinition.getChildren()
-                .stream()
-                .map(it -> {
-                    String name = ((NamedNode<?>) it).getName();
-                    Optional<FieldDefinition> childDefinition;
-                    if (typeDefinition instanceof ObjectTypeDefinition) {
-                        childDefinition = findField((ObjectTypeDefinition) typeDefinition, name);
-                    } else if (typeDefinition instanceof InterfaceTypeDefinition) {
-                        childDefinition = findField((InterfaceTypeDefinition) typeDefinition, name);
-                    } else {
-                        childDefinition = Optional.empty();
-                    }
-                    return childDefinition;
-                })
-                .filter(Optional::isPresent)
-                .map(Optional::get);
+        return getFields(typeDefinition.getName())
+                .values()
+                .stream();
+    }
+
+    /**
+     * @return whether the type is a list, or a non-null list
+     */
+    public static boolean isList(Type<?> type) {
+        if (type instanceof NonNullType) {
+            return isList(((NonNullType) type).getType());
+        }
+        return type instanceof ListType;
     }
 
     public static String unwrap(Type<?> type) {
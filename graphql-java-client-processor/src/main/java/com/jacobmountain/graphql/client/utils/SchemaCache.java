@@ -0,0 +1,90 @@
+package com.jacobmountain.graphql.client.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches parsed schemas by their resolved path and content hash, so a schema shared by several clients is only parsed
+ * and indexed once per processor instance.
+ * <p>
+ * When given a snapshot directory, parsed schemas are also stored there as {@link SchemaSnapshot}s named after their
+ * content hash, and later builds load the snapshot instead of parsing the SDL again.
+ */
+@Slf4j
+public class SchemaCache {
+
+    private final Map<String, Schema> schemas = new ConcurrentHashMap<>();
+
+    private final Path snapshots;
+
+    public SchemaCache() {
+        this(null);
+    }
+
+    public SchemaCache(Path snapshots) {
+        this.snapshots = snapshots;
+    }
+
+    /**
+     * Returns the parsed schema of the file, only parsing it the first time its contents are seen
+     *
+     * @param file the GraphQL schema file
+     * @return the parsed schema
+     * @throws IOException if the file could not be read
+     */
+    public Schema get(File file) throws IOException {
+        File canonical = file.getCanonicalFile();
+        byte[] content = Files.readAllBytes(canonical.toPath());
+        String hash = HashUtils.sha256(content);
+        return schemas.computeIfAbsent(canonical.getPath() + "@" + hash, it -> load(canonical, content, hash));
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    private Schema load(File file, byte[] content, String hash) {
+        if (snapshots == null) {
+            return parse(file, content);
+        }
+        Path snapshot = snapshots.resolve(hash + ".bin");
+        if (Files.isRegularFile(snapshot)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshot)))) {
+                log.info("Reading schema snapshot {} of {}", snapshot, file);
+                return SchemaSnapshot.read(in);
+            } catch (Exception e) {
+                log.warn("Failed to read schema snapshot {}, parsing {} instead", snapshot, file, e);
+            }
+        }
+        Schema schema = parse(file, content);
+        writeSnapshot(schema, snapshot);
+        return schema;
+    }
+
+    private Schema parse(File file, byte[] content) {
+        log.info("Reading schema {}", file);
+        return new Schema(new String(content, StandardCharsets.UTF_8));
+    }
+
+    private void writeSnapshot(Schema schema, Path snapshot) {
+        try {
+            Files.createDirectories(snapshot.getParent());
+            // write to a temporary file first, so concurrent builds never read a partially written snapshot
+            Path tmp = Files.createTempFile(snapshot.getParent(), snapshot.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                SchemaSnapshot.write(schema, out);
+            }
+            Files.move(tmp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (Exception e) {
+            log.warn("Failed to write schema snapshot {}", snapshot, e);
+        }
+    }
+
+}
@@ -0,0 +1,346 @@
+package com.jacobmountain.graphql.client.utils;
+
+import graphql.language.*;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import lombok.experimental.UtilityClass;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact binary encoding of the parts of a GraphQL schema the processor uses (types, fields, implements
+ * relationships, union members, enum values and input values), so a schema can be loaded without parsing its SDL.
+ * <p>
+ * Descriptions, comments, directives and source locations are not kept.
+ */
+@UtilityClass
+public class SchemaSnapshot {
+
+    private static final int MAGIC = 0x47514C53; // GQLS
+
+    private static final int VERSION = 1;
+
+    private static final byte OBJECT = 0;
+    private static final byte INTERFACE = 1;
+    private static final byte UNION = 2;
+    private static final byte ENUM = 3;
+    private static final byte INPUT = 4;
+
+    private static final byte NAMED_TYPE = 0;
+    private static final byte LIST_TYPE = 1;
+    private static final byte NON_NULL_TYPE = 2;
+
+    private static final byte NO_VALUE = 0;
+    private static final byte NULL_VALUE = 1;
+    private static final byte INT_VALUE = 2;
+    private static final byte FLOAT_VALUE = 3;
+    private static final byte STRING_VALUE = 4;
+    private static final byte BOOLEAN_VALUE = 5;
+    private static final byte ENUM_VALUE = 6;
+    private static final byte ARRAY_VALUE = 7;
+    private static final byte OBJECT_VALUE = 8;
+
+    public void write(Schema schema, DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        List<OperationTypeDefinition> operations = schema.schemaDefinition()
+                .map(SchemaDefinition::getOperationTypeDefinitions)
+                .orElseGet(ArrayList::new);
+        out.writeInt(operations.size());
+        for (OperationTypeDefinition operation : operations) {
+            out.writeUTF(operation.getName());
+            out.writeUTF(operation.getTypeName().getName());
+        }
+        List<String> scalars = new ArrayList<>();
+        schema.scalars()
+                .keySet()
+                .stream()
+                .filter(it -> !ScalarInfo.isGraphqlSpecifiedScalar(it))
+                .forEach(scalars::add);
+        writeNames(scalars, out);
+        Map<String, TypeDefinition> types = schema.types();
+        out.writeInt(types.size());
+        for (TypeDefinition<?> type : types.values()) {
+            writeType(type, out);
+        }
+    }
+
+    public Schema read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a schema snapshot, or written by a different version");
+        }
+        List<SDLDefinition> definitions = new ArrayList<>();
+        int operations = in.readInt();
+        List<OperationTypeDefinition> operationTypes = new ArrayList<>(operations);
+        for (int i = 0; i < operations; i++) {
+            operationTypes.add(new OperationTypeDefinition(in.readUTF(), new TypeName(in.readUTF())));
+        }
+        definitions.add(SchemaDefinition.newSchemaDefinition().operationTypeDefinitions(operationTypes).build());
+        for (String scalar : readNames(in)) {
+            definitions.add(new ScalarTypeDefinition(scalar));
+        }
+        int types = in.readInt();
+        for (int i = 0; i < types; i++) {
+            definitions.add(readType(in));
+        }
+        TypeDefinitionRegistry registry = new TypeDefinitionRegistry();
+        registry.addAll(definitions)
+                .ifPresent(error -> {
+                    throw new IllegalStateException(error.getMessage());
+                });
+        return new Schema(registry);
+    }
+
+    private void writeType(TypeDefinition<?> type, DataOutput out) throws IOException {
+        if (type instanceof ObjectTypeDefinition) {
+            ObjectTypeDefinition object = (ObjectTypeDefinition) type;
+            out.writeByte(OBJECT);
+            out.writeUTF(object.getName());
+            writeTypeNames(object.getImplements(), out);
+            writeFields(object.getFieldDefinitions(), out);
+        } else if (type instanceof InterfaceTypeDefinition) {
+            InterfaceTypeDefinition interfac = (InterfaceTypeDefinition) type;
+            out.writeByte(INTERFACE);
+            out.writeUTF(interfac.getName());
+            writeTypeNames(interfac.getImplements(), out);
+            writeFields(interfac.getFieldDefinitions(), out);
+        } else if (type instanceof UnionTypeDefinition) {
+            UnionTypeDefinition union = (UnionTypeDefinition) type;
+            out.writeByte(UNION);
+            out.writeUTF(union.getName());
+            writeTypeNames(union.getMemberTypes(), out);
+        } else if (type instanceof EnumTypeDefinition) {
+            EnumTypeDefinition enumeration = (EnumTypeDefinition) type;
+            out.writeByte(ENUM);
+            out.writeUTF(enumeration.getName());
+            List<String> values = new ArrayList<>();
+            enumeration.getEnumValueDefinitions().forEach(it -> values.add(it.getName()));
+            writeNames(values, out);
+        } else if (type instanceof InputObjectTypeDefinition) {
+            InputObjectTypeDefinition input = (InputObjectTypeDefinition) type;
+            out.writeByte(INPUT);
+            out.writeUTF(input.getName());
+            writeInputValues(input.getInputValueDefinitions(), out);
+        } else {
+            throw new IOException("Unexpected type definition " + type.getClass());
+        }
+    }
+
+    private SDLDefinition<?> readType(DataInput in) throws IOException {
+        byte kind = in.readByte();
+        String name = in.readUTF();
+        switch (kind) {
+            case OBJECT:
+                return ObjectTypeDefinition.newObjectTypeDefinition()
+                        .name(name)
+                        .implementz(readTypeNames(in))
+                        .fieldDefinitions(readFields(in))
+                        .build();
+            case INTERFACE:
+                return InterfaceTypeDefinition.newInterfaceTypeDefinition()
+                        .name(name)
+                        .implementz(readTypeNames(in))
+                        .definitions(readFields(in))
+                        .build();
+            case UNION:
+                return UnionTypeDefinition.newUnionTypeDefinition()
+                        .name(name)
+                        .memberTypes(readTypeNames(in))
+                        .build();
+            case ENUM:
+                List<EnumValueDefinition> values = new ArrayList<>();
+                readNames(in).forEach(it -> values.add(new EnumValueDefinition(it)));
+                return EnumTypeDefinition.newEnumTypeDefinition()
+                        .name(name)
+                        .enumValueDefinitions(values)
+                        .build();
+            case INPUT:
+                return InputObjectTypeDefinition.newInputObjectDefinition()
+                        .name(name)
+                        .inputValueDefinitions(readInputValues(in))
+                        .build();
+            default:
+                throw new IOException("Unexpected type definition kind " + kind);
+        }
+    }
+
+    private void writeFields(List<FieldDefinition> fields, DataOutput out) throws IOException {
+        out.writeInt(fields.size());
+        for (FieldDefinition field : fields) {
+            out.writeUTF(field.getName());
+            writeTypeReference(field.getType(), out);
+            writeInputValues(field.getInputValueDefinitions(), out);
+        }
+    }
+
+    private List<FieldDefinition> readFields(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<FieldDefinition> fields = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fields.add(FieldDefinition.newFieldDefinition()
+                    .name(in.readUTF())
+                    .type(readTypeReference(in))
+                    .inputValueDefinitions(readInputValues(in))
+                    .build());
+        }
+        return fields;
+    }
+
+    private void writeInputValues(List<InputValueDefinition> values, DataOutput out) throws IOException {
+        out.writeInt(values.size());
+        for (InputValueDefinition value : values) {
+            out.writeUTF(value.getName());
+            writeTypeReference(value.getType(), out);
+            writeValue(value.getDefaultValue(), out);
+        }
+    }
+
+    private List<InputValueDefinition> readInputValues(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<InputValueDefinition> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(new InputValueDefinition(in.readUTF(), readTypeReference(in), readValue(in)));
+        }
+        return values;
+    }
+
+    private void writeTypeReference(Type<?> type, DataOutput out) throws IOException {
+        if (type instanceof ListType) {
+            out.writeByte(LIST_TYPE);
+            writeTypeReference(((ListType) type).getType(), out);
+        } else if (type instanceof NonNullType) {
+            out.writeByte(NON_NULL_TYPE);
+            writeTypeReference(((NonNullType) type).getType(), out);
+        } else {
+            out.writeByte(NAMED_TYPE);
+            out.writeUTF(((TypeName) type).getName());
+        }
+    }
+
+    private Type<?> readTypeReference(DataInput in) throws IOException {
+        byte kind = in.readByte();
+        switch (kind) {
+            case LIST_TYPE:
+                return new ListType(readTypeReference(in));
+            case NON_NULL_TYPE:
+                return new NonNullType(readTypeReference(in));
+            case NAMED_TYPE:
+                return new TypeName(in.readUTF());
+            default:
+                throw new IOException("Unexpected type reference kind " + kind);
+        }
+    }
+
+    private void writeValue(Value<?> value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeByte(NO_VALUE);
+        } else if (value instanceof NullValue) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof IntValue) {
+            out.writeByte(INT_VALUE);
+            out.writeUTF(((IntValue) value).getValue().toString());
+        } else if (value instanceof FloatValue) {
+            out.writeByte(FLOAT_VALUE);
+            out.writeUTF(((FloatValue) value).getValue().toString());
+        } else if (value instanceof StringValue) {
+            out.writeByte(STRING_VALUE);
+            out.writeUTF(((StringValue) value).getValue());
+        } else if (value instanceof BooleanValue) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeBoolean(((BooleanValue) value).isValue());
+        } else if (value instanceof EnumValue) {
+            out.writeByte(ENUM_VALUE);
+            out.writeUTF(((EnumValue) value).getName());
+        } else if (value instanceof ArrayValue) {
+            List<Value> values = ((ArrayValue) value).getValues();
+            out.writeByte(ARRAY_VALUE);
+            out.writeInt(values.size());
+            for (Value<?> it : values) {
+                writeValue(it, out);
+            }
+        } else if (value instanceof ObjectValue) {
+            List<ObjectField> fields = ((ObjectValue) value).getObjectFields();
+            out.writeByte(OBJECT_VALUE);
+            out.writeInt(fields.size());
+            for (ObjectField field : fields) {
+                out.writeUTF(field.getName());
+                writeValue(field.getValue(), out);
+            }
+        } else {
+            throw new IOException("Unexpected default value " + value.getClass());
+        }
+    }
+
+    private Value<?> readValue(DataInput in) throws IOException {
+        byte kind = in.readByte();
+        switch (kind) {
+            case NO_VALUE:
+                return null;
+            case NULL_VALUE:
+                return NullValue.newNullValue().build();
+            case INT_VALUE:
+                return new IntValue(new BigInteger(in.readUTF()));
+            case FLOAT_VALUE:
+                return new FloatValue(new BigDecimal(in.readUTF()));
+            case STRING_VALUE:
+                return new StringValue(in.readUTF());
+            case BOOLEAN_VALUE:
+                return new BooleanValue(in.readBoolean());
+            case ENUM_VALUE:
+                return new EnumValue(in.readUTF());
+            case ARRAY_VALUE:
+                int size = in.readInt();
+                List<Value> values = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    values.add(readValue(in));
+                }
+                return new ArrayValue(values);
+            case OBJECT_VALUE:
+                int fields = in.readInt();
+                List<ObjectField> objectFields = new ArrayList<>(fields);
+                for (int i = 0; i < fields; i++) {
+                    objectFields.add(new ObjectField(in.readUTF(), readValue(in)));
+                }
+                return new ObjectValue(objectFields);
+            default:
+                throw new IOException("Unexpected default value kind " + kind);
+        }
+    }
+
+    private void writeTypeNames(List<Type> types, DataOutput out) throws IOException {
+        List<String> names = new ArrayList<>(types.size());
+        types.forEach(it -> names.add(((TypeName) it).getName()));
+        writeNames(names, out);
+    }
+
+    private List<Type> readTypeNames(DataInput in) throws IOException {
+        List<Type> types = new ArrayList<>();
+        readNames(in).forEach(it -> types.add(new TypeName(it)));
+        return types;
+    }
+
+    private void writeNames(Collection<String> names, DataOutput out) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+
+    private List<String> readNames(DataInput in) throws IOException {
+        int size = in.readInt();
+        List<String> names = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            names.add(in.readUTF());
+        }
+        return names;
+    }
+
+}
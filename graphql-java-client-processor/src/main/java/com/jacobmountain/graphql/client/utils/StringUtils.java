@@ -2,6 +2,7 @@ package com.jacobmountain.graphql.client.utils;
 
 import lombok.experimental.UtilityClass;
 
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -32,6 +33,13 @@ public class StringUtils {
                 .collect(Collectors.joining());
     }
 
+    /**
+     * @return the word in upper case, with underscores between its words, e.g. HERO_BY_EPISODE for HeroByEpisode
+     */
+    public String constantCase(String word) {
+        return word.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
     public String enquote(String value) {
         return "\"" + value + "\"";
     }
@@ -0,0 +1,102 @@
+package com.jacobmountain.graphql.client.utils;
+
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A bounded fork-join pool for generating code in parallel.
+ * <p>
+ * Only pure work (building and rendering JavaPoet specs, generating queries) should be given to the pool, the
+ * processing environment (Elements, Filer, Messager) is not thread safe so must only be used from the processor thread.
+ */
+public class WorkerPool implements AutoCloseable {
+
+    /**
+     * Runs everything on the calling thread
+     */
+    public static final WorkerPool SEQUENTIAL = new WorkerPool(1);
+
+    private final ForkJoinPool pool;
+
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    // whether the worker is already measuring a task, which any task it runs while waiting on others is part of
+    private final ThreadLocal<Boolean> measuring = ThreadLocal.withInitial(() -> false);
+
+    public WorkerPool(int parallelism) {
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    /**
+     * @return the number of threads work is spread across
+     */
+    public int getParallelism() {
+        return pool == null ? 1 : pool.getParallelism();
+    }
+
+    /**
+     * @return the bytes allocated by the tasks run on the threads of the pool so far, tasks run on the calling thread
+     * are left to the caller to measure
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * Maps each of the items in parallel
+     *
+     * @return the results, in the same order as the items
+     */
+    public <T, R> List<R> map(Collection<T> items, Function<? super T, ? extends R> mapper) {
+        if (pool == null || items.size() < 2) {
+            return items.stream().map(mapper).collect(Collectors.toList());
+        }
+        Function<T, R> measured = measured(mapper);
+        if (ForkJoinTask.inForkJoinPool() && ForkJoinTask.getPool() == pool) {
+            // already on one of our workers, the parallel stream will use this pool
+            return items.parallelStream().map(measured).collect(Collectors.toList());
+        }
+        return pool.submit(() -> items.parallelStream().map(measured).collect(Collectors.toList())).join();
+    }
+
+    /**
+     * Counts the bytes allocated by the mapper when it runs on a thread of the pool
+     */
+    private <T, R> Function<T, R> measured(Function<? super T, ? extends R> mapper) {
+        return item -> {
+            if (ForkJoinTask.getPool() != pool || measuring.get()) {
+                return mapper.apply(item);
+            }
+            measuring.set(true);
+            long start = AllocationUtils.currentThread();
+            try {
+                return mapper.apply(item);
+            } finally {
+                allocatedBytes.add(AllocationUtils.currentThread() - start);
+                measuring.set(false);
+            }
+        };
+    }
+
+    public <T> void forEach(Collection<T> items, Consumer<? super T> consumer) {
+        map(items, item -> {
+            consumer.accept(item);
+            return item;
+        });
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+}
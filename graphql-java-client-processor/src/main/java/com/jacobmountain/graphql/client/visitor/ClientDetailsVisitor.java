@@ -1,5 +1,6 @@
 package com.jacobmountain.graphql.client.visitor;
 
+import com.jacobmountain.graphql.client.annotations.GraphQLClient;
 import com.jacobmountain.graphql.client.annotations.GraphQLMutation;
 import com.jacobmountain.graphql.client.annotations.GraphQLQuery;
 import com.jacobmountain.graphql.client.annotations.GraphQLSubscription;
@@ -17,6 +18,7 @@ public class ClientDetailsVisitor extends ElementKindVisitor8<ClientDetails, Voi
         return ClientDetails.builder()
                 .requiresSubscriber(requiresSubscriber(type))
                 .requiresFetcher(requiresFetcher(type))
+                .persistedQueries(persistedQueries(type))
                 .build();
     }
 
@@ -32,6 +34,11 @@ public class ClientDetailsVisitor extends ElementKindVisitor8<ClientDetails, Voi
                 .anyMatch(it -> hasAnnotation(it, GraphQLQuery.class) || hasAnnotation(it, GraphQLMutation.class));
     }
 
+    private boolean persistedQueries(TypeElement element) {
+        GraphQLClient annotation = element.getAnnotation(GraphQLClient.class);
+        return annotation != null && annotation.persistedQueries();
+    }
+
     private boolean hasAnnotation(Element el, Class<? extends Annotation> annotation) {
         return el.getAnnotation(annotation) != null;
     }
@@ -4,6 +4,9 @@ import com.jacobmountain.graphql.client.annotations.GraphQLField;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 public class GraphQLFieldSelection {
@@ -14,4 +17,11 @@ public class GraphQLFieldSelection {
         this.value = annotation.value();
     }
 
+    /**
+     * @return the names of the fields on the way to the selected field, e.g. [friends, name] for friends.name
+     */
+    public List<String> getPath() {
+        return Arrays.asList(value.split("\\."));
+    }
+
 }
@@ -13,6 +13,7 @@ import lombok.Singular;
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -39,6 +40,14 @@ public class MethodDetails {
     @Getter
     private final List<GraphQLField> selection;
 
+    @Getter
+    @Singular
+    private final List<GraphQLField> exclusions;
+
+    // the projection returned in place of a DTO, or null
+    @Getter
+    private final Projection projection;
+
     private final boolean mutation;
 
     private final boolean subscription;
@@ -46,8 +55,38 @@ public class MethodDetails {
     @Getter
     private final int maxDepth;
 
+    // the maximum estimated cost of the query, 0 for no limit
+    @Getter
+    private final int maxCost;
+
+    // the cost budget to select fields within, 0 for no limit
+    @Getter
+    private final int costBudget;
+
     private final String subscriptionCallback;
 
+    /**
+     * @return the fields to select, those of the select of the annotation, along with those of the projection
+     */
+    public List<GraphQLFieldSelection> getSelections() {
+        Stream<GraphQLFieldSelection> projected = Optional.ofNullable(projection)
+                .map(it -> it.getPaths().stream().map(GraphQLFieldSelection::new))
+                .orElseGet(Stream::empty);
+        return Stream.concat(selection.stream().map(GraphQLFieldSelection::new), projected)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the names of the arguments of the field bound to the parameters, leaving out the parameters bound to
+     * directives
+     */
+    public Set<String> getArgumentNames() {
+        return parameters.stream()
+                .filter(parameter -> !parameter.isDirective())
+                .map(Parameter::getField)
+                .collect(Collectors.toSet());
+    }
+
     public boolean hasParameters() {
         return !parameters.isEmpty();
     }
@@ -2,6 +2,7 @@ package com.jacobmountain.graphql.client.visitor;
 
 import com.jacobmountain.graphql.client.TypeMapper;
 import com.jacobmountain.graphql.client.annotations.*;
+import com.jacobmountain.graphql.client.exceptions.InvalidProjectionException;
 import com.jacobmountain.graphql.client.exceptions.MissingAnnotationException;
 import com.jacobmountain.graphql.client.utils.OptionalUtils;
 import com.jacobmountain.graphql.client.utils.Schema;
@@ -49,8 +50,12 @@ public class MethodDetailsVisitor extends ElementKindVisitor8<MethodDetails, Typ
                         .mutation(false)
                         .subscription(false)
                         .maxDepth(annotation.maxDepth())
+                        .maxCost(annotation.maxCost())
+                        .costBudget(annotation.costBudget())
                         .parameters(getParameters(e, typeMapper, annotation.value()))
                         .selection(Arrays.asList(annotation.select()))
+                        .exclusions(Arrays.asList(annotation.exclude()))
+                        .projection(getProjection(e, typeMapper, annotation.value()))
                         .build());
     }
 
@@ -64,8 +69,12 @@ public class MethodDetailsVisitor extends ElementKindVisitor8<MethodDetails, Typ
                         .mutation(true)
                         .subscription(false)
                         .maxDepth(annotation.maxDepth())
+                        .maxCost(annotation.maxCost())
+                        .costBudget(annotation.costBudget())
                         .parameters(getParameters(e, typeMapper, annotation.value()))
                         .selection(Arrays.asList(annotation.select()))
+                        .exclusions(Arrays.asList(annotation.exclude()))
+                        .projection(getProjection(e, typeMapper, annotation.value()))
                         .build());
     }
 
@@ -79,27 +88,67 @@ public class MethodDetailsVisitor extends ElementKindVisitor8<MethodDetails, Typ
                         .mutation(false)
                         .subscription(true)
                         .maxDepth(annotation.maxDepth())
+                        .maxCost(annotation.maxCost())
+                        .costBudget(annotation.costBudget())
                         .parameters(getParameters(e, typeMapper, annotation.value()))
                         .selection(Arrays.asList(annotation.select()))
+                        .exclusions(Arrays.asList(annotation.exclude()))
+                        .projection(getProjection(e, typeMapper, annotation.value()))
                         .subscriptionCallback(getParameterWithAnnotation(e).getName())
                         .build()
                 );
     }
 
+    /**
+     * @throws InvalidProjectionException if the projection doesn't match the schema, holding the method to report it on
+     */
+    private Projection getProjection(ExecutableElement e, TypeMapper typeMapper, String field) {
+        if (schema == null) {
+            return null;
+        }
+        try {
+            return Projection.of(e.getReturnType(), field, schema, typeMapper).orElse(null);
+        } catch (InvalidProjectionException ex) {
+            throw new InvalidProjectionException(ex.getMessage(), e);
+        }
+    }
+
     private List<Parameter> getParameters(ExecutableElement e, TypeMapper typeMapper, String root) {
-        return e.getParameters()
+        List<Parameter> parameters = e.getParameters()
                 .stream()
                 .map(parameter -> {
                             String className = parameter.getSimpleName().toString();
+                            TypeName type = typeMapper.defaultPackage(ClassName.get(parameter.asType()));
+                            GraphQLInclude include = parameter.getAnnotation(GraphQLInclude.class);
+                            GraphQLSkip skip = parameter.getAnnotation(GraphQLSkip.class);
+                            boolean directive = include != null || skip != null;
+                            if (directive && !(TypeName.BOOLEAN.equals(type) || TypeName.BOOLEAN.box().equals(type))) {
+                                throw new IllegalArgumentException("@GraphQLInclude and @GraphQLSkip parameters must be booleans, but " + className + " is a " + type);
+                            }
                             return Parameter.builder()
-                                    .type(typeMapper.defaultPackage(ClassName.get(parameter.asType())))
+                                    .type(type)
                                     .name(className)
                                     .annotation(parameter.getAnnotation(GraphQLArgument.class))
-                                    .nullable(isNullableArg(root, className))
+                                    // the variables of directives are Boolean!
+                                    .nullable(!directive && isNullableArg(root, className))
+                                    .include(include)
+                                    .skip(skip)
                                     .build();
                         }
                 )
                 .collect(Collectors.toList());
+        // the variable of a directive is named after its parameter, as is the field of the argument class
+        parameters.stream()
+                .filter(Parameter::isDirective)
+                .forEach(directive -> parameters.stream()
+                        .filter(parameter -> parameter != directive && StringUtils.equals(parameter.getField(), directive.getName()))
+                        .findFirst()
+                        .ifPresent(parameter -> {
+                            throw new IllegalArgumentException("The @GraphQLInclude or @GraphQLSkip parameter " + directive.getName() +
+                                    " has the same name as the argument of " + parameter.getName() + ", so both would be the variable $" +
+                                    directive.getName() + " of " + e.getSimpleName());
+                        }));
+        return parameters;
     }
 
     private Parameter getParameterWithAnnotation(ExecutableElement e) {
@@ -1,11 +1,18 @@
 package com.jacobmountain.graphql.client.visitor;
 
 import com.jacobmountain.graphql.client.annotations.GraphQLArgument;
+import com.jacobmountain.graphql.client.annotations.GraphQLInclude;
+import com.jacobmountain.graphql.client.annotations.GraphQLSkip;
 import com.squareup.javapoet.ParameterSpec;
 import com.squareup.javapoet.TypeName;
 import lombok.Builder;
 import lombok.Data;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 @Data
 @Builder
 public class Parameter {
@@ -18,6 +25,10 @@ public class Parameter {
 
     private boolean nullable;
 
+    private GraphQLInclude include;
+
+    private GraphQLSkip skip;
+
     public ParameterSpec toSpec() {
         return ParameterSpec.builder(type, name).build();
     }
@@ -30,4 +41,31 @@ public class Parameter {
         return annotation;
     }
 
+    /**
+     * @return whether the parameter is bound to the directives of fields, rather than to an argument of the query
+     */
+    public boolean isDirective() {
+        return include != null || skip != null;
+    }
+
+    /**
+     * @return the fields only selected when the parameter is true
+     */
+    public List<GraphQLFieldSelection> getIncludes() {
+        return include == null ? Collections.emptyList() : toSelections(include.value());
+    }
+
+    /**
+     * @return the fields left out when the parameter is true
+     */
+    public List<GraphQLFieldSelection> getSkips() {
+        return skip == null ? Collections.emptyList() : toSelections(skip.value());
+    }
+
+    private static List<GraphQLFieldSelection> toSelections(String[] paths) {
+        return Arrays.stream(paths)
+                .map(GraphQLFieldSelection::new)
+                .collect(Collectors.toList());
+    }
+
 }
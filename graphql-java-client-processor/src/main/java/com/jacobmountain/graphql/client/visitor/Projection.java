@@ -0,0 +1,230 @@
+package com.jacobmountain.graphql.client.visitor;
+
+import com.jacobmountain.graphql.client.TypeMapper;
+import com.jacobmountain.graphql.client.exceptions.InvalidProjectionException;
+import com.jacobmountain.graphql.client.utils.Schema;
+import com.jacobmountain.graphql.client.utils.StringUtils;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.TypeName;
+import graphql.language.FieldDefinition;
+import graphql.language.InterfaceTypeDefinition;
+import graphql.language.ObjectTypeDefinition;
+import lombok.Value;
+
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An interface declared as the return type of a client method in place of a DTO, e.g.
+ * <pre>
+ * interface HeroSummary {
+ *     String getName();
+ *     List&lt;FriendName&gt; getFriends();
+ * }
+ * </pre>
+ * The accessors of the interface are the only fields selected by the query, and the client copies them out of the DTO
+ * into an implementation of the interface. An accessor returning another projection selects the fields of that
+ * projection, any other accessor returns the field as it is typed in the DTO.
+ */
+@Value
+public class Projection {
+
+    private static final List<String> CONTAINERS = Arrays.asList(
+            "java.util.Optional",
+            "java.util.List",
+            "reactor.core.publisher.Mono",
+            "reactor.core.publisher.Flux",
+            "org.reactivestreams.Publisher"
+    );
+
+    ClassName type;
+
+    /**
+     * The name of the GraphQL type the projection is of
+     */
+    String typeName;
+
+    List<Accessor> accessors;
+
+    /**
+     * @return the name of the class implementing the projection, nested in the client
+     */
+    public String getImplementationName() {
+        return String.join("", type.simpleNames()) + "Impl";
+    }
+
+    /**
+     * @return the paths of the fields the projection selects, e.g. friends.name
+     */
+    public List<String> getPaths() {
+        return accessors.stream()
+                .flatMap(accessor -> {
+                    if (accessor.projection == null) {
+                        return Stream.of(accessor.field);
+                    }
+                    return accessor.projection.getPaths()
+                            .stream()
+                            .map(path -> accessor.field + "." + path);
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return this projection, and every projection nested within it
+     */
+    public Stream<Projection> flatten() {
+        return Stream.concat(
+                Stream.of(this),
+                accessors.stream()
+                        .filter(accessor -> accessor.projection != null)
+                        .flatMap(accessor -> accessor.projection.flatten())
+        );
+    }
+
+    /**
+     * Finds the projection returned by a client method, if it returns one, either directly or in an Optional, List,
+     * Mono, Flux or Publisher
+     *
+     * @param returnType the return type of the method
+     * @param field      the root field of the method
+     * @return the projection, empty if the method returns a DTO
+     * @throws InvalidProjectionException if an accessor doesn't match a field of the schema
+     */
+    public static Optional<Projection> of(TypeMirror returnType, String field, Schema schema, TypeMapper typeMapper) {
+        return Optional.of(unwrap(returnType))
+                .filter(it -> isProjection(it, typeMapper))
+                .map(it -> {
+                    FieldDefinition definition = schema.findField(field)
+                            .orElseThrow(() -> new InvalidProjectionException("Field of name \"" + field + "\" not found in schema"));
+                    return of((TypeElement) ((DeclaredType) it).asElement(), Schema.unwrap(definition.getType()), schema, typeMapper);
+                });
+    }
+
+    private static Projection of(TypeElement element, String typeName, Schema schema, TypeMapper typeMapper) {
+        ClassName type = ClassName.get(element);
+        if (!schema.getTypeDefinition(typeName).filter(it -> it instanceof ObjectTypeDefinition || it instanceof InterfaceTypeDefinition).isPresent()) {
+            throw new InvalidProjectionException(type.simpleName() + " can't be a projection of " + typeName + ", which has no fields");
+        }
+        List<Accessor> accessors = getAccessors(element)
+                .stream()
+                .map(method -> {
+                    String name = method.getSimpleName().toString();
+                    String field = getFieldName(name);
+                    FieldDefinition definition = schema.findField(typeName, field)
+                            .orElseThrow(() -> new InvalidProjectionException(type.simpleName() + "." + name + "() doesn't match a field of " + typeName));
+                    boolean list = Schema.isList(definition.getType());
+                    TypeMirror returnType = method.getReturnType();
+                    TypeMirror item = list ? getListItem(returnType).orElse(returnType) : returnType;
+                    if (isProjection(item, typeMapper)) {
+                        if (list && item == returnType) {
+                            throw new InvalidProjectionException(type.simpleName() + "." + name + "() should return a List, like " + typeName + "." + field);
+                        }
+                        Projection projection = of((TypeElement) ((DeclaredType) item).asElement(), Schema.unwrap(definition.getType()), schema, typeMapper);
+                        return new Accessor(name, field, typeMapper.defaultPackage(TypeName.get(returnType)), list, projection);
+                    }
+                    TypeName expected = typeMapper.getType(definition.getType());
+                    TypeName actual = typeMapper.defaultPackage(TypeName.get(returnType));
+                    if (!expected.equals(actual)) {
+                        throw new InvalidProjectionException(type.simpleName() + "." + name + "() returns " + actual + ", but " + typeName + "." + field + " is a " + expected);
+                    }
+                    return new Accessor(name, field, actual, list, null);
+                })
+                .collect(Collectors.toList());
+        if (accessors.isEmpty()) {
+            throw new InvalidProjectionException(type.simpleName() + " has no accessors to select fields with");
+        }
+        return new Projection(type, typeName, accessors);
+    }
+
+    /**
+     * @return the abstract methods of the interface and the interfaces it extends, which take no arguments
+     */
+    private static List<ExecutableElement> getAccessors(TypeElement element) {
+        Map<String, ExecutableElement> accessors = new LinkedHashMap<>();
+        ElementFilter.methodsIn(element.getEnclosedElements())
+                .stream()
+                .filter(method -> method.getModifiers().contains(Modifier.ABSTRACT))
+                .filter(method -> method.getParameters().isEmpty())
+                .forEach(method -> accessors.putIfAbsent(method.getSimpleName().toString(), method));
+        element.getInterfaces()
+                .stream()
+                .filter(it -> it.getKind() == TypeKind.DECLARED)
+                .flatMap(it -> getAccessors((TypeElement) ((DeclaredType) it).asElement()).stream())
+                .forEach(method -> accessors.putIfAbsent(method.getSimpleName().toString(), method));
+        return new ArrayList<>(accessors.values());
+    }
+
+    private static String getFieldName(String method) {
+        for (String prefix : Arrays.asList("get", "is")) {
+            if (method.length() > prefix.length() && method.startsWith(prefix) && Character.isUpperCase(method.charAt(prefix.length()))) {
+                return StringUtils.decapitalize(method.substring(prefix.length()));
+            }
+        }
+        return method;
+    }
+
+    private static Optional<TypeMirror> getListItem(TypeMirror type) {
+        return Optional.of(unwrap(type))
+                .filter(item -> item != type)
+                .filter(item -> ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.util.List"));
+    }
+
+    private static TypeMirror unwrap(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return type;
+        }
+        DeclaredType declared = (DeclaredType) type;
+        String name = ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        if (CONTAINERS.contains(name) && declared.getTypeArguments().size() == 1) {
+            return declared.getTypeArguments().get(0);
+        }
+        return type;
+    }
+
+    /**
+     * An interface is a projection unless it is one of the DTOs, which are generated from the interfaces of the schema,
+     * or one of the JDK's, e.g. a method returning a Collection of DTOs is given the List of the DTO
+     */
+    private static boolean isProjection(TypeMirror type, TypeMapper typeMapper) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() != ElementKind.INTERFACE) {
+            return false;
+        }
+        ClassName name = ClassName.get((TypeElement) element);
+        if (name.packageName().startsWith("java.") || name.packageName().startsWith("javax.")) {
+            return false;
+        }
+        return !typeMapper.getType(name.simpleName()).equals(name);
+    }
+
+    @Value
+    public static class Accessor {
+
+        String methodName;
+
+        String field;
+
+        TypeName type;
+
+        /**
+         * Whether the field is a list, of projections if the accessor returns projections
+         */
+        boolean list;
+
+        /**
+         * The projection returned by the accessor, null if it returns the field as it is typed in the DTO
+         */
+        Projection projection;
+
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.jacobmountain
+
+import com.fasterxml.jackson.databind.DeserializationFeature
+import com.fasterxml.jackson.databind.JsonSerializable
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.databind.exc.InvalidFormatException
+import com.fasterxml.jackson.databind.exc.MismatchedInputException
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException
+import com.jacobmountain.dto.*
+import com.jacobmountain.dto.codec.GraphQLCodecs
+import com.jacobmountain.graphql.client.dto.Response
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CodecSpec extends Specification {
+
+    ObjectMapper reflective = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+
+    ObjectMapper codecs = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModule(new GraphQLCodecs())
+
+    static final String RESPONSE = '''{
+        "data": {
+            "hero": {
+                "id": "1000",
+                "name": "Luke Skywalker",
+                "__typename": "Human",
+                "friends": [
+                    {"__typename": "Droid", "id": 2001, "name": "R2-D2", "friends": null, "primaryFunction": "Astromech"},
+                    null,
+                    {"name": "Han Solo", "id": 1002, "totalCredits": 3, "unknown": {"nested": [1, 2]}, "__typename": "Human"}
+                ],
+                "totalCredits": 10
+            },
+            "humans": [{"__typename": "Human", "id": 1003, "name": "Leia"}],
+            "droid": null,
+            "object": {"field": "thing", "number": null}
+        },
+        "errors": [{"message": "partial"}]
+    }'''
+
+    def read(ObjectMapper mapper, String json) {
+        mapper.readValue(json, mapper.typeFactory.constructParametricType(Response, Query, Map))
+    }
+
+    def "Codecs read responses like Jackson does"() {
+        when:
+        Response<Query, Map> response = read(codecs, RESPONSE)
+
+        then:
+        response == read(reflective, RESPONSE)
+        response.data.hero instanceof Human
+        response.data.hero.friends*.getClass() == [Droid, null, Human]
+        response.data.hero.friends[2].name == "Han Solo"
+        response.errors*.message == ["partial"]
+    }
+
+    def "Codecs write DTOs like Jackson does"() {
+        given:
+        Query query = read(reflective, RESPONSE).data
+        def input = new InputThing()
+        input.setNumber(4)
+
+        expect:
+        codecs.readTree(codecs.writeValueAsString(query)) == reflective.readTree(reflective.writeValueAsString(query))
+        codecs.readTree(codecs.writeValueAsString(input)) == reflective.readTree(reflective.writeValueAsString(input))
+        codecs.writeValueAsString([Numbers.ONE, null]) == '["ONE",null]'
+    }
+
+    @Unroll
+    def "Codecs fail like Jackson does (#json)"() {
+        given:
+        def strict = new ObjectMapper().registerModule(new GraphQLCodecs())
+
+        when:
+        strict.readValue(json, type)
+
+        then:
+        thrown(exception)
+
+        where:
+        json                                         | type      || exception
+        '{"field": "thing", "other": 1}'             | Thing     || UnrecognizedPropertyException
+        '"FOUR"'                                     | Numbers   || InvalidFormatException
+        '{"id": 1, "name": "R2-D2"}'                 | Character || MismatchedInputException
+        '{"__typename": "Wookiee", "name": "Chewie"}' | Character || MismatchedInputException
+        '[1]'                                        | Thing     || MismatchedInputException
+    }
+
+    def "Null fields are left out when the mapper leaves them out"() {
+        given:
+        def thing = new Thing()
+        thing.setField("thing")
+
+        expect:
+        codecs.copy().setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)
+                .writeValueAsString(thing) == '{"field":"thing"}'
+        codecs.writeValueAsString(thing) == '{"field":"thing","number":null}'
+    }
+
+    @Unroll
+    def "Arguments write their own variables (#json)"() {
+        given:
+        def mapper = new ObjectMapper().setSerializationInclusion(com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL)
+
+        expect:
+        args instanceof JsonSerializable
+        mapper.writeValueAsString(args) == json
+
+        where:
+        args                                                              || json
+        new ClientGraph.GetDroidById(id: 2001)                            || '{"id":2001}'
+        new ClientGraph.GetDroidById()                                    || '{"id":null}'
+        new ClientGraph.HeroWithFriendsByWithFriends(withFriends: true)   || '{"withFriends":true}'
+    }
+
+}
@@ -3,7 +3,9 @@ package com.jacobmountain
 import com.jacobmountain.graphql.client.DTOGenerator
 import com.jacobmountain.graphql.client.FileWriter
 import com.jacobmountain.graphql.client.PojoBuilder
+import com.jacobmountain.graphql.client.SourceFile
 import com.jacobmountain.graphql.client.TypeMapper
+import com.jacobmountain.graphql.client.utils.WorkerPool
 import graphql.schema.idl.SchemaParser
 import graphql.schema.idl.TypeDefinitionRegistry
 import spock.lang.Specification
@@ -144,4 +146,50 @@ class DTOGeneratorSpec extends Specification {
         interfac.hasSubType("Type")
     }
 
+    def "Types are written as soon as their batch is built"() {
+        given:
+        def names = (1..10).collect { "Type$it" }
+        def types = types(names.collect { "type $it { name: String }" }.join("\n"))
+        List<String> events = []
+
+        when:
+        generator.generate(types)
+
+        then:
+        10 * writer.prepare(_) >> { PojoBuilder pojo -> events << "prepare " + pojo.name }
+        10 * writer.write(_) >> { PojoBuilder pojo -> events << "write " + pojo.name }
+        events.indexOf("write Type1") < events.indexOf("prepare Type5")
+        events.findAll { it.startsWith("write") } == names.sort().collect { "write $it" }
+    }
+
+    def "Codecs are generated alongside the DTOs, and registered by GraphQLCodecs"() {
+        given:
+        def generator = new DTOGenerator("com.package", writer, mapper, WorkerPool.SEQUENTIAL, true)
+        List<String> written = []
+
+        when:
+        generator.generate(["Character", "Human", "Numbers"].collect { REGISTRY.getType(it).orElse(null) })
+
+        then:
+        7 * writer.write(_) >> { SourceFile file -> written << file.FQDN }
+        written == [
+                "com.package.Character", "com.package.codec.CharacterCodec",
+                "com.package.Human", "com.package.codec.HumanCodec",
+                "com.package.Numbers", "com.package.codec.NumbersCodec",
+                "com.package.codec.GraphQLCodecs"
+        ]
+    }
+
+    def "Types are only linked to the supertypes being generated"() {
+        given:
+        PojoBuilder human
+
+        when:
+        generateTypes("Human", "Union")
+
+        then:
+        1 * writer.write({ arg -> arg.name == "Human" }) >> { human = it[0] }
+        human.build().typeSpec.superinterfaces*.toString() == ["com.package.Union"]
+    }
+
 }
@@ -6,6 +6,7 @@ import com.jacobmountain.dto.Droid
 import com.jacobmountain.dto.Human
 import com.jacobmountain.dto.Query
 import com.jacobmountain.graphql.client.Fetcher
+import com.jacobmountain.graphql.client.PersistedQueries
 import com.jacobmountain.graphql.client.dto.Response
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -79,4 +80,79 @@ class IntegrationSpec extends Specification {
         3  | "C3P0"
     }
 
+    def "Can query for a projection"() {
+        given:
+        def hero = newCharacter(1, "Luke Skywalker")
+        hero.friends = [newDroid(2, "R2-D2"), newCharacter(3, "Han Solo")]
+        fetcher.query(_, null) >> Response.builder()
+                .data(new Query() {
+                    @Override
+                    Character getHero() {
+                        return hero
+                    }
+                })
+                .build()
+
+        when:
+        def summary = graph.getHeroSummary()
+
+        then:
+        summary.name == "Luke Skywalker"
+        summary.friends*.name == ["R2-D2", "Han Solo"]
+    }
+
+    def "Can query for a list of projections"() {
+        given:
+        def human = newCharacter(1, "Leia Organa")
+        fetcher.query(_, null) >> Response.builder()
+                .data(new Query() {
+                    @Override
+                    List<Human> getHumans() {
+                        return [human]
+                    }
+                })
+                .build()
+
+        when:
+        def summaries = graph.getHumanSummaries()
+
+        then:
+        summaries*.name == ["Leia Organa"]
+        summaries[0].friends == null
+    }
+
+    @Unroll
+    def "Can include fields with a parameter (#withFriends)"() {
+        given:
+        def args = new ClientGraph.HeroWithFriendsByWithFriends()
+        args.withFriends = withFriends
+
+        when:
+        graph.getHero(withFriends)
+
+        then:
+        1 * fetcher.query({ it.contains('friends @include(if: $withFriends)') }, args) >> Response.builder()
+                .data(new Query() {
+                    @Override
+                    Character getHero() {
+                        return newCharacter(1, "Luke Skywalker")
+                    }
+                })
+                .build()
+
+        where:
+        withFriends << [true, false]
+    }
+
+    def "The operations of the client are generated as constants and a manifest"() {
+        when:
+        def manifest = getClass().getResource("/META-INF/graphql-java-client/operations/com.jacobmountain.Client.json").text
+
+        then:
+        ClientOperations.HERO_WITH_FRIENDS.startsWith('query HeroWithFriends($withFriends: Boolean!)')
+        ClientOperations.HERO_WITH_FRIENDS_HASH == PersistedQueries.hash(ClientOperations.HERO_WITH_FRIENDS)
+        manifest.contains('"hash": "' + ClientOperations.HERO_WITH_FRIENDS_HASH + '"')
+        manifest.contains('"name": "Droid"')
+    }
+
 }
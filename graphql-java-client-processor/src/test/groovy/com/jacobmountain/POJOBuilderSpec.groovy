@@ -36,6 +36,14 @@ class POJOBuilderSpec extends Specification {
         hasMethod(build.typeSpec, "toString")
     }
 
+    def "We can generate the toString of a class without fields"(){
+        when:
+        def build = PojoBuilder.newType("MyPojo", "com.jacobmountain").build()
+
+        then:
+        build.typeSpec.methodSpecs.find { it.name == "toString" }.code.toString() == 'return "{ MyPojo }";\n'
+    }
+
     def "We can generate an interface"(){
         when:
         def build = PojoBuilder.newInterface("MyInterface", "com.jacobmountain").build()
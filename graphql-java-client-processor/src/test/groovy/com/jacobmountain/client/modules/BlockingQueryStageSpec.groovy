@@ -1,6 +1,7 @@
 package com.jacobmountain.client.modules
 
 import com.jacobmountain.graphql.client.Fetcher
+import com.jacobmountain.graphql.client.PersistedQueries
 import com.jacobmountain.graphql.client.Subscriber
 import com.jacobmountain.graphql.client.TypeMapper
 import com.jacobmountain.graphql.client.dto.Response
@@ -8,6 +9,8 @@ import com.jacobmountain.graphql.client.modules.AbstractStage
 import com.jacobmountain.graphql.client.modules.BlockingQueryStage
 import com.jacobmountain.graphql.client.modules.ClientDetails
 import com.jacobmountain.graphql.client.query.QueryGenerator
+import com.jacobmountain.graphql.client.query.ast.Operation
+import com.jacobmountain.graphql.client.query.ast.SelectionSet
 import com.jacobmountain.graphql.client.utils.Schema
 import com.jacobmountain.graphql.client.visitor.MethodDetails
 import spock.lang.Specification
@@ -20,10 +23,15 @@ class BlockingQueryStageSpec extends Specification {
     QueryGenerator.QueryBuilder queryBuilder = Mock(QueryGenerator.QueryBuilder) {
         select(_ as List) >> { queryBuilder }
         maxDepth(_) >> { queryBuilder }
-        build(_, _, _) >> { "query" }
+        costBudget(_) >> { queryBuilder }
+        exclude(_) >> { queryBuilder }
+        buildOperation(_, _, _) >> { new Operation("query", "Query", [], new SelectionSet([])) }
     }
 
-    QueryGenerator generator = Mock(QueryGenerator)
+    // a spy, so the queries are configured for each method as they are when generating a client
+    QueryGenerator generator = Spy(QueryGenerator, constructorArgs: [new Schema("schema { query: Query } type Query { }")]) {
+        render(_) >> "query"
+    }
 
     BlockingQueryStage stage = new BlockingQueryStage(
             generator,
@@ -52,6 +60,17 @@ class BlockingQueryStageSpec extends Specification {
         renderBlocks(blocks) == """${Response.class.getName()}<com.test.Query, Error> thing = fetcher.query("query", null);"""
     }
 
+    def "The hash of the query is passed to the fetcher of persisted queries"() {
+        when:
+        def blocks = stage.assemble(ClientDetails.builder().persistedQueries(true).build(), MethodDetails.builder()
+                .selection([])
+                .build())
+
+        then:
+        1 * generator.query() >> queryBuilder
+        renderBlocks(blocks) == """${Response.class.getName()}<com.test.Query, Error> thing = fetcher.query("query", "${PersistedQueries.hash("query")}", null);"""
+    }
+
     def "We can generate the code for a mutation"() {
         when:
         def blocks = stage.assemble(Mock(ClientDetails), MethodDetails.builder()
@@ -8,6 +8,8 @@ import com.jacobmountain.graphql.client.modules.AbstractStage
 import com.jacobmountain.graphql.client.modules.ClientDetails
 import com.jacobmountain.graphql.client.modules.ReactiveQueryStage
 import com.jacobmountain.graphql.client.query.QueryGenerator
+import com.jacobmountain.graphql.client.query.ast.Operation
+import com.jacobmountain.graphql.client.query.ast.SelectionSet
 import com.jacobmountain.graphql.client.utils.Schema
 import com.jacobmountain.graphql.client.visitor.MethodDetails
 import org.reactivestreams.Publisher
@@ -20,10 +22,15 @@ class ReactiveQueryStageSpec extends Specification {
     QueryGenerator.QueryBuilder queryBuilder = Mock(QueryGenerator.QueryBuilder) {
         select(_ as List) >> { queryBuilder }
         maxDepth(_) >> { queryBuilder }
-        build(_, _, _) >> { "query" }
+        costBudget(_) >> { queryBuilder }
+        exclude(_) >> { queryBuilder }
+        buildOperation(_, _, _) >> { new Operation("query", "Query", [], new SelectionSet([])) }
     }
 
-    QueryGenerator generator = Mock(QueryGenerator)
+    // a spy, so the queries are configured for each method as they are when generating a client
+    QueryGenerator generator = Spy(QueryGenerator, constructorArgs: [new Schema("schema { query: Query } type Query { }")]) {
+        render(_) >> "query"
+    }
 
     ReactiveQueryStage stage = new ReactiveQueryStage(
             generator,
@@ -0,0 +1,42 @@
+package com.jacobmountain.graphql.client
+
+import com.jacobmountain.graphql.client.utils.ClientCompilation
+import spock.lang.Specification
+
+class GraphQLClientProcessorSpec extends Specification {
+
+    ClientCompilation compilation = new ClientCompilation("""
+        schema {
+            query: Query
+        }
+        type Query {
+            hero: Hero
+        }
+        type Hero {
+            id: Int
+            name: String
+            friends: [Hero]
+        }
+    """)
+
+    def cleanup() {
+        compilation.delete()
+    }
+
+    def "A query over its maxCost is reported on its method, rather than an overload of it"() {
+        when:
+        def errors = compilation.process("""
+            @GraphQLQuery("hero")
+            Object getHero();
+
+            @GraphQLQuery(value = "hero", maxCost = 5)
+            Object getHero(@GraphQLInclude("friends") boolean withFriends);
+        """)
+
+        then:
+        errors.size() == 1
+        errors[0].getMessage(null).startsWith("The query of getHero has an estimated cost of ")
+        errors[0].lineNumber == compilation.lineOf("getHero", 1)
+    }
+
+}
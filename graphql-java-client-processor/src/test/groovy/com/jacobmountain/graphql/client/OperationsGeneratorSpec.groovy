@@ -0,0 +1,50 @@
+package com.jacobmountain.graphql.client
+
+import spock.lang.Specification
+
+class OperationsGeneratorSpec extends Specification {
+
+    static OperationsGenerator.Operation operation(String name, String document) {
+        OperationsGenerator.Operation.of(name, "query", "hero", document)
+    }
+
+    def "Operations are named after their constants"() {
+        when:
+        def constants = OperationsGenerator.getConstants([
+                operation("Hero", "query Hero { hero { id } }"),
+                operation("HeroByEpisode", "query HeroByEpisode { hero { name } }")
+        ])
+
+        then:
+        constants.keySet() as List == ["HERO", "HERO_BY_EPISODE"]
+    }
+
+    def "Operations of the same name with different documents are numbered"() {
+        when:
+        def constants = OperationsGenerator.getConstants([
+                operation("Hero", "query Hero { hero { id } }"),
+                operation("Hero", "query Hero { hero { name } }"),
+                operation("Hero", "query Hero { hero { id } }")
+        ])
+
+        then:
+        constants.keySet() as List == ["HERO", "HERO_2"]
+        constants.HERO_2.document == "query Hero { hero { name } }"
+    }
+
+    def "Constants are numbered rather than clash with the hash of another"() {
+        when:
+        def constants = OperationsGenerator.getConstants(operations)
+        def fields = constants.keySet().collectMany { [it, it + "_HASH"] }
+
+        then:
+        constants.keySet() as List == expected
+        fields.unique(false).size() == fields.size()
+
+        where:
+        operations                                                                                               || expected
+        [operation("Hero", "query Hero { hero { id } }"), operation("HeroHash", "query HeroHash { hero { name } }")] || ["HERO", "HERO_HASH_2"]
+        [operation("HeroHash", "query HeroHash { hero { name } }"), operation("Hero", "query Hero { hero { id } }")] || ["HERO_HASH", "HERO_2"]
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.jacobmountain.graphql.client
+
+import com.jacobmountain.graphql.client.dto.Request
+import com.jacobmountain.graphql.client.dto.Response
+import spock.lang.Specification
+
+class PersistedQueryFetcherSpec extends Specification {
+
+    List<Request> requests = []
+
+    List<Response> responses = []
+
+    PersistedQueryFetcher<String, String, String> fetcher = new PersistedQueryFetcher<String, String, String>() {
+        @Override
+        protected <A> Response<String, String> sendQuery(Request<A> request) {
+            requests << request
+            responses.remove(0)
+        }
+
+        @Override
+        protected <A> Response<String, String> sendMutation(Request<A> request) {
+            sendQuery(request)
+        }
+    }
+
+    static Response<String, String> data(String data) {
+        new Response<>(data, null)
+    }
+
+    static Response<String, String> error(String message) {
+        new Response<>(null, [message])
+    }
+
+    def "Queries are hashed with SHA-256"() {
+        expect:
+        PersistedQueries.hash("") == "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"
+    }
+
+    def "Only the hash is sent for a query the server knows"() {
+        given:
+        responses << data("hero")
+
+        when:
+        def response = fetcher.query("query Hero { hero { name } }", "abc", "args")
+
+        then:
+        response.data == "hero"
+        requests == [new Request(null, "args", PersistedQueries.extensions("abc"))]
+    }
+
+    def "The query is sent in full when the server doesn't know the hash"() {
+        given:
+        responses << error(PersistedQueries.NOT_FOUND) << data("hero")
+
+        when:
+        def response = fetcher.mutate("mutation Hero { hero { name } }", "abc", null)
+
+        then:
+        response.data == "hero"
+        requests*.query == [null, "mutation Hero { hero { name } }"]
+        requests*.extensions == [PersistedQueries.extensions("abc")] * 2
+    }
+
+    def "Queries are always sent in full once the server doesn't support persisted queries"() {
+        given:
+        responses << error(PersistedQueries.NOT_SUPPORTED) << data("hero") << data("hero")
+
+        when:
+        fetcher.query("query Hero { hero { name } }", null)
+        fetcher.query("query Hero { hero { name } }", null)
+
+        then:
+        requests*.query == [null, "query Hero { hero { name } }", "query Hero { hero { name } }"]
+        requests*.extensions.every { it.persistedQuery.sha256Hash == PersistedQueries.hash("query Hero { hero { name } }") }
+    }
+
+}
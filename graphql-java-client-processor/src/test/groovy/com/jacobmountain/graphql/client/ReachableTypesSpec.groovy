@@ -0,0 +1,153 @@
+package com.jacobmountain.graphql.client
+
+import com.jacobmountain.graphql.client.utils.Schema
+import com.jacobmountain.graphql.client.visitor.MethodDetails
+import com.jacobmountain.graphql.client.visitor.Parameter
+import spock.lang.Specification
+
+class ReachableTypesSpec extends Specification {
+
+    static Schema schema = new Schema("""
+        schema {
+            query: Query
+            mutation: Mutation
+        }
+        type Query {
+            hero(episode: Episode): Character
+            review(id: ID!): Review
+            search: [SearchResult]
+        }
+        type Mutation {
+            createReview(review: ReviewInput): Review
+        }
+        enum Episode { NEWHOPE EMPIRE JEDI }
+        input ReviewInput {
+            stars: Int
+            commentary: CommentaryInput
+        }
+        input CommentaryInput {
+            text: String
+        }
+        type Review {
+            stars: Int
+            author: Human
+        }
+        interface Character {
+            id: ID
+            name: String
+        }
+        type Human implements Character {
+            id: ID
+            name: String
+            homePlanet: String
+        }
+        type Droid implements Character {
+            id: ID
+            name: String
+            primaryFunction: String
+        }
+        type Starship {
+            name: String
+        }
+        union SearchResult = Human | Starship
+    """)
+
+    static MethodDetails query(String field, int maxDepth = 10, List<String> params = []) {
+        MethodDetails.builder()
+                .field(field)
+                .maxDepth(maxDepth)
+                .selection([])
+                .parameters(params.collect { Parameter.builder().name(it).build() })
+                .build()
+    }
+
+    def "Every type is reachable by default"() {
+        expect:
+        ReachableTypes.all().isReachable("Starship")
+        ReachableTypes.all().isReachable("Starship", "name")
+    }
+
+    def "The root types are always reachable"() {
+        when:
+        def reachable = ReachableTypes.of(schema, [])
+
+        then:
+        reachable.isReachable("Query")
+        reachable.isReachable("Mutation")
+        !reachable.isReachable("Query", "hero")
+        !reachable.isReachable("Character")
+    }
+
+    def "Types are reachable through the selections of a query"() {
+        when:
+        def reachable = ReachableTypes.of(schema, [query("hero")])
+
+        then: "the selected root field is reachable"
+        reachable.isReachable("Query", "hero")
+        !reachable.isReachable("Query", "review")
+
+        and: "so are the possible types of the interface"
+        ["Character", "Human", "Droid"].every { reachable.isReachable(it) }
+        reachable.isReachable("Human", "homePlanet")
+        reachable.isReachable("Droid", "primaryFunction")
+
+        and: "the implementations have every field of the interface"
+        reachable.isReachable("Human", "name")
+        reachable.isReachable("Droid", "id")
+
+        and: "nothing else is"
+        !reachable.isReachable("Review")
+        !reachable.isReachable("Starship")
+        !reachable.isReachable("SearchResult")
+        !reachable.isReachable("Episode")
+    }
+
+    def "Only the selected fields of a type are reachable"() {
+        when:
+        def reachable = ReachableTypes.of(schema, [query("review", 1, ["id"])])
+
+        then:
+        reachable.isReachable("Review", "stars")
+        !reachable.isReachable("Review", "author")
+        !reachable.isReachable("Human")
+    }
+
+    def "Fields left out by the cost budget of a query aren't reachable"() {
+        when:
+        def reachable = ReachableTypes.of(schema, [
+                MethodDetails.builder()
+                        .field("review")
+                        .maxDepth(10)
+                        .costBudget(3)
+                        .selection([])
+                        .parameters([Parameter.builder().name("id").build()])
+                        .build()
+        ])
+
+        then:
+        reachable.isReachable("Review", "stars")
+        !reachable.isReachable("Review", "author")
+        !reachable.isReachable("Human")
+    }
+
+    def "Argument types are reachable as a whole"() {
+        when:
+        def reachable = ReachableTypes.of(schema, [
+                query("hero", 1, ["episode"]),
+                MethodDetails.builder()
+                        .field("createReview")
+                        .mutation(true)
+                        .maxDepth(1)
+                        .selection([])
+                        .parameters([Parameter.builder().name("review").build()])
+                        .build()
+        ])
+
+        then:
+        reachable.isReachable("Episode")
+        reachable.isReachable("ReviewInput", "stars")
+        reachable.isReachable("CommentaryInput", "text")
+        reachable.isReachable("Mutation", "createReview")
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.jacobmountain.graphql.client.cli
+
+import com.jacobmountain.ResourceUtils
+import com.squareup.javapoet.ClassName
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Paths
+
+class DTOGeneratorCliSpec extends Specification {
+
+    def "Arguments are parsed"() {
+        when:
+        def cli = DTOGeneratorCli.parse(
+                "--schema", "Schema.gql",
+                "--package", "com.example.dto",
+                "--output", "build/generated",
+                "--scalar", "Date=java.time.LocalDate",
+                "--parallelism", "2",
+                "--codecs"
+        )
+
+        then:
+        cli.schema == Paths.get("Schema.gql")
+        cli.packageName == "com.example.dto"
+        cli.output == Paths.get("build/generated")
+        cli.scalars == ["Date": ClassName.get("java.time", "LocalDate")]
+        cli.parallelism == 2
+        cli.codecs
+    }
+
+    def "Invalid arguments are rejected"() {
+        when:
+        DTOGeneratorCli.parse(args as String[])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        args << [
+                [],
+                ["--schema", "Schema.gql", "--package", "com.example.dto"],
+                ["--schema", "Schema.gql", "--package", "com.example.dto", "--output"],
+                ["--schema", "Schema.gql", "--package", "com.example.dto", "--output", "out", "--scalar", "Date"],
+                ["--schema", "Schema.gql", "--package", "com.example.dto", "--output", "out", "--parallelism", "many"],
+                ["--schema", "Schema.gql", "--package", "com.example.dto", "--output", "out", "--unknown"],
+        ]
+    }
+
+    def "The DTOs are written to the output directory"() {
+        given:
+        def schema = Files.createTempFile("Schema", ".gql")
+        schema.text = ResourceUtils.readResource("Schema.gql")
+        def output = Files.createTempDirectory("dtos")
+
+        when:
+        def failures = DTOGeneratorCli.parse(
+                "--schema", schema.toString(),
+                "--package", "com.example.dto",
+                "--output", output.toString()
+        ).generate()
+
+        then:
+        failures == 0
+        def dto = output.resolve("com/example/dto")
+        ["Query", "Character", "Human", "Droid", "Union", "Numbers", "InputThing"].every {
+            Files.exists(dto.resolve(it + ".java"))
+        }
+        dto.resolve("Human.java").text.contains("public class Human implements Character")
+
+        cleanup:
+        Files.deleteIfExists(schema)
+        output.toFile().deleteDir()
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.jacobmountain.graphql.client.query
+
+import com.jacobmountain.graphql.client.utils.Schema
+import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection
+import spock.lang.Specification
+
+import static com.jacobmountain.graphql.client.utils.QueryAssertion.assertQueriesAreEqual
+
+class CostBudgetSpec extends Specification {
+
+    static Schema SCHEMA = new Schema("""
+        schema {
+            query: Query
+        }
+        type Query {
+            person(id: String): Person
+            name: String
+        }
+        type Person {
+            id: String
+            name: String
+            friends(first: Int = 5): [Person]
+            best: Person
+            pet(species: String): Pet
+        }
+        type Pet {
+            name: String
+        }
+    """)
+
+    QueryGenerator generator = new QueryGenerator(SCHEMA)
+
+    def "Scalars are selected before objects, and objects before lists"() {
+        when:
+        def result = generator.query().maxDepth(5).costBudget(6).build(null, "person", [] as Set)
+
+        then:
+        assertQueriesAreEqual("""
+        query Person {
+            person {
+                id
+                name
+                best {
+                    id
+                    name
+                    __typename
+                }
+                __typename
+            }
+        }
+        """, result)
+    }
+
+    def "Fields are selected breadth first"() {
+        when:
+        def result = generator.query().maxDepth(5).costBudget(12).build(null, "person", [] as Set)
+
+        then: "the fields under best and pet are selected before the fields under best.best, and friends never fits"
+        assertQueriesAreEqual("""
+        query Person {
+            person {
+                id
+                name
+                best {
+                    id
+                    name
+                    best {
+                        id
+                        __typename
+                    }
+                    pet {
+                        name
+                        __typename
+                    }
+                    __typename
+                }
+                pet {
+                    name
+                    __typename
+                }
+                __typename
+            }
+        }
+        """, result)
+    }
+
+    def "The query stays within the budget"() {
+        given:
+        def cost = new QueryCost(SCHEMA)
+
+        expect:
+        cost.estimate(generator.query().maxDepth(8).costBudget(budget).buildOperation(null, "person", [] as Set)) <= budget
+
+        where:
+        budget << [3, 10, 50, 100, 1000]
+    }
+
+    def "Objects none of whose fields fit are dropped"() {
+        when:
+        def result = generator.query().maxDepth(5).costBudget(3).build(null, "person", [] as Set)
+
+        then:
+        assertQueriesAreEqual("""
+        query Person {
+            person {
+                id
+                name
+                __typename
+            }
+        }
+        """, result)
+    }
+
+    def "The root field is always selected"() {
+        when:
+        def result = generator.query().maxDepth(5).costBudget(1).build(null, "person", [] as Set)
+
+        then:
+        assertQueriesAreEqual("""
+        query Person {
+            person {
+                __typename
+            }
+        }
+        """, result)
+    }
+
+    def "Variables of fields outside the budget are dropped"() {
+        when:
+        def result = generator.query().maxDepth(5).costBudget(3).build(null, "person", ["id", "species"] as Set)
+
+        then:
+        assertQueriesAreEqual("""
+        query Person(\$id: String) {
+            person(id: \$id) {
+                id
+                name
+                __typename
+            }
+        }
+        """, result)
+    }
+
+    def "Fields with directives are selected whatever the budget"() {
+        when:
+        def result = generator.query()
+                .maxDepth(5)
+                .costBudget(1)
+                .include(new GraphQLFieldSelection("best.pet"), "withPet")
+                .skip(new GraphQLFieldSelection("name"), "anonymous")
+                .build(null, "person", [] as Set)
+
+        then: "so are the fields above them, and the cheapest field under them"
+        assertQueriesAreEqual("""
+        query Person(\$withPet: Boolean!, \$anonymous: Boolean!) {
+            person {
+                id
+                name @skip(if: \$anonymous)
+                best {
+                    id
+                    pet @include(if: \$withPet) {
+                        name
+                        __typename
+                    }
+                    __typename
+                }
+                __typename
+            }
+        }
+        """, result)
+    }
+
+}
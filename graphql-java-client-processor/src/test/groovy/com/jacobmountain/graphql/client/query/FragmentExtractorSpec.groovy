@@ -0,0 +1,83 @@
+package com.jacobmountain.graphql.client.query
+
+import com.jacobmountain.graphql.client.query.ast.QueryStyle
+import com.jacobmountain.graphql.client.utils.Schema
+import spock.lang.Specification
+
+class FragmentExtractorSpec extends Specification {
+
+    static Schema SCHEMA = new Schema("""
+        schema {
+            query: Query
+        }
+        type Query {
+            hero: Character
+            pet: Pet
+        }
+        interface Character {
+            id: String
+            name: String
+            friends: [Character]
+            pet: Pet
+        }
+        type Human implements Character {
+            id: String
+            name: String
+            friends: [Character]
+            pet: Pet
+            home: String
+        }
+        type Pet {
+            name: String
+            owner: Character
+        }
+    """)
+
+    QueryGenerator generator = new QueryGenerator(SCHEMA, QueryStyle.COMPACT, new QueryCost(SCHEMA), true)
+
+    def "Repeated selection sets are hoisted into named fragments"() {
+        when:
+        def result = generator.query().maxDepth(4).build(null, "hero", [] as Set)
+
+        then: "the selections of Pet and the shallower Characters are too small to be worth a fragment"
+        result == "query Hero { hero { id name friends { id name friends { ...CharacterFields } " +
+                "pet { name owner { id name ... on Human { home } __typename } __typename } " +
+                "... on Human { home } __typename } pet { name owner { ...CharacterFields } __typename } " +
+                "... on Human { home } __typename } } " +
+                "fragment CharacterFields on Character { id name friends { id name ... on Human { home } __typename } " +
+                "pet { name __typename } ... on Human { home } __typename }"
+    }
+
+    def "Queries without repeated selection sets are unchanged"() {
+        when:
+        def result = generator.query().maxDepth(2).build(null, "pet", [] as Set)
+
+        then:
+        result == "query Pet { pet { name owner { id name ... on Human { home } __typename } __typename } }"
+    }
+
+    def "Named fragments are off by default"() {
+        when:
+        def result = new QueryGenerator(SCHEMA).query().maxDepth(3).build(null, "hero", [] as Set)
+
+        then:
+        !result.contains("fragment")
+    }
+
+    def "Hoisting fragments does not change the cost of the query"() {
+        given:
+        def cost = new QueryCost(SCHEMA)
+
+        when:
+        def inline = new QueryGenerator(SCHEMA).query().maxDepth(depth).buildOperation(null, "hero", [] as Set)
+        def hoisted = generator.query().maxDepth(depth).buildOperation(null, "hero", [] as Set)
+
+        then:
+        generator.render(hoisted).length() <= generator.render(inline).length()
+        cost.estimate(hoisted) == cost.estimate(inline)
+
+        where:
+        depth << [2, 3, 4, 5]
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.jacobmountain.graphql.client.query
+
+import com.jacobmountain.graphql.client.query.ast.*
+import com.jacobmountain.graphql.client.utils.Schema
+import spock.lang.Specification
+
+class QueryCostSpec extends Specification {
+
+    static Schema SCHEMA = new Schema("""
+        schema {
+            query: Query
+            mutation: Mutation
+        }
+        type Query {
+            hero: Character
+            heroes: [Character!]!
+            page(first: Int = 3): [Character]
+            search: [SearchResult]
+        }
+        type Mutation {
+            rename(name: String): Character
+        }
+        interface Character {
+            id: String
+            name: String
+            friends: [Character]
+        }
+        type Human implements Character {
+            id: String
+            name: String
+            friends: [Character]
+            homePlanet: String
+        }
+        type Droid implements Character {
+            id: String
+            name: String
+            friends: [Character]
+            primaryFunction: String
+            owner: Human
+        }
+        union SearchResult = Human | Droid
+    """)
+
+    QueryCost cost = new QueryCost(SCHEMA)
+
+    static Field field(String name, Selection... selections) {
+        new Field(name, [], selections ? new SelectionSet(selections as List) : null)
+    }
+
+    static InlineFragment on(String type, Selection... selections) {
+        new InlineFragment(type, new SelectionSet(selections as List))
+    }
+
+    static Operation query(Selection... selections) {
+        new Operation("query", "Query", [], new SelectionSet(selections as List))
+    }
+
+    def "Every field costs 1"() {
+        expect:
+        cost.estimate(query(field("hero", field("id"), field("name")))) == 3
+        cost.estimate(new Operation("mutation", "Rename", [], new SelectionSet([field("rename", field("id"))]))) == 2
+    }
+
+    def "__typename is free"() {
+        expect:
+        cost.estimate(query(field("hero", field("id"), field("__typename")))) == 2
+    }
+
+    def "Lists are multiplied by the default list size"() {
+        expect:
+        cost.estimate(query(field("heroes", field("id"), field("name")))) == 30
+        cost.estimate(query(field("hero", field("id"), field("friends", field("id"), field("friends", field("id")))))) == 1 + 1 + 10 * (1 + 1 + 10 * (1 + 1))
+    }
+
+    def "Lists are multiplied by the default of their first argument"() {
+        expect:
+        cost.estimate(query(field("page", field("id")))) == 6
+    }
+
+    def "The default list size can be configured"() {
+        expect:
+        new QueryCost(SCHEMA, 2).estimate(query(field("heroes", field("id"), field("name")))) == 6
+    }
+
+    def "Only the most expensive fragment is counted"() {
+        expect:
+        cost.estimate(query(field("hero", field("id"), on("Human", field("homePlanet")), on("Droid", field("primaryFunction"), field("owner", field("id")))))) == 1 + 1 + 3
+        cost.estimate(query(field("search", on("Human", field("id")), on("Droid", field("id"), field("name"))))) == 10 * (1 + 2)
+    }
+
+    def "Named fragments are counted where they are spread"() {
+        given:
+        def operation = new Operation("query", "Hero", [], new SelectionSet([field("hero", new FragmentSpread("Droid"))]), [
+                new FragmentDefinition("Droid", "Droid", new SelectionSet([field("id"), field("name")]))
+        ])
+
+        expect:
+        cost.estimate(operation) == 1 + 2
+    }
+
+}
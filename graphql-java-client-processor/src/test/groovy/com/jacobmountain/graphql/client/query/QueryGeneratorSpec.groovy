@@ -1,9 +1,11 @@
 package com.jacobmountain.graphql.client.query
 
 import com.jacobmountain.graphql.client.utils.Schema
+import com.jacobmountain.graphql.client.visitor.GraphQLFieldSelection
 import groovy.util.logging.Slf4j
 import spock.lang.Specification
 import spock.lang.Subject
+import spock.lang.Timeout
 
 import static com.jacobmountain.graphql.client.utils.QueryAssertion.assertQueriesAreEqual
 
@@ -256,11 +258,39 @@ class QueryGeneratorSpec extends Specification {
         }
         fragment field on Field {
             id
-            __typename
         }
         """, result)
     }
 
+    def "Inline fragments only select the fields specific to their type"() {
+        given:
+        givenQuery("hero: Character", """
+        interface Character {
+            id: String
+            name: String
+        }
+        type Human implements Character {
+            id: String
+            name: String
+            homePlanet: String
+        }
+        type Droid implements Character {
+            name: String
+            id: String
+            primaryFunction: String
+        }
+        type Clone implements Character {
+            id: String
+            name: String
+        }
+        """)
+        when:
+        def result = generator.query().build(null, "hero", [] as Set)
+
+        then: "Clone adds nothing to Character, so has no fragment"
+        result == "query Hero { hero { id name ... on Human { homePlanet } ... on Droid { primaryFunction } __typename } }"
+    }
+
     def "We should add nested fields of the same name (a problem potentially caused by interface recursion)"() {
         given:
         givenQuery("field: Field", """
@@ -290,4 +320,175 @@ class QueryGeneratorSpec extends Specification {
         """, result)
     }
 
+    @Timeout(10)
+    def "Deeply recursive types are generated in a reasonable time"() {
+        given:
+        givenQuery("hero: Character", """
+        interface Character {
+            id: String
+            friends: [Character]
+            enemies: [Character]
+            rivals: [Character]
+        }
+        type Human implements Character {
+            id: String
+            friends: [Character]
+            enemies: [Character]
+            rivals: [Character]
+            homePlanet: String
+        }
+        type Droid implements Character {
+            id: String
+            friends: [Character]
+            enemies: [Character]
+            rivals: [Character]
+            primaryFunction: String
+        }
+        """)
+        when:
+        def result = generator.query().maxDepth(8).build(null, "hero", [] as Set)
+
+        then:
+        result.startsWith("query Hero { hero { id friends { id friends { id")
+    }
+
+    def "Args used by repeated selections are declared once"() {
+        given:
+        givenQuery("node: Node", """
+        type Node {
+            left: Node
+            right: Node
+            count(first: Int): Int
+        }
+        """)
+        when:
+        def result = generator.query().maxDepth(3).build(null, "node", ["first"] as Set)
+
+        then:
+        assertQueriesAreEqual("""
+        query Node(\$first: Int) {
+            node {
+                left {
+                    left { count(first: \$first) __typename }
+                    right { count(first: \$first) __typename }
+                    count(first: \$first)
+                    __typename
+                }
+                right {
+                    left { count(first: \$first) __typename }
+                    right { count(first: \$first) __typename }
+                    count(first: \$first)
+                    __typename
+                }
+                count(first: \$first)
+                __typename
+            }
+        }
+        """, result)
+    }
+
+    static String CHARACTERS = """
+        interface Character {
+            id: String
+            name: String
+            friends: [Character]
+            friendsConnection: FriendsConnection
+        }
+        type Human implements Character {
+            id: String
+            name: String
+            friends: [Character]
+            friendsConnection: FriendsConnection
+            homePlanet: String
+        }
+        type FriendsConnection {
+            edges: [FriendsEdge]
+            totalCount: Int
+        }
+        type FriendsEdge {
+            cursor: String
+            node: Character
+        }
+        """
+
+    static List<GraphQLFieldSelection> fields(String... paths) {
+        paths.collect { new GraphQLFieldSelection(it) }
+    }
+
+    def "I can select nested fields by their path"() {
+        given:
+        givenQuery("hero: Character", CHARACTERS)
+
+        when:
+        def result = generator.query()
+                .select(fields("name", "friends.name", "friendsConnection.edges.node.id"))
+                .maxDepth(5)
+                .build(null, "hero", [] as Set)
+
+        then:
+        result == "query Hero { hero { name friends { name __typename } " +
+                "friendsConnection { edges { node { id __typename } __typename } __typename } __typename } }"
+    }
+
+    def "Every field under a selected field is selected"() {
+        given:
+        givenQuery("hero: Character", CHARACTERS)
+
+        when:
+        def result = generator.query()
+                .select(fields("friendsConnection.edges"))
+                .maxDepth(4)
+                .build(null, "hero", [] as Set)
+
+        then:
+        result == "query Hero { hero { friendsConnection { edges { cursor node { id name ... on Human { homePlanet } __typename } __typename } __typename } __typename } }"
+    }
+
+    def "I can exclude nested fields by their path"() {
+        given:
+        givenQuery("hero: Character", CHARACTERS)
+
+        when:
+        def result = generator.query()
+                .exclude(fields("friends", "friendsConnection.edges.node"))
+                .maxDepth(3)
+                .build(null, "hero", [] as Set)
+
+        then:
+        result == "query Hero { hero { id name friendsConnection { edges { cursor __typename } totalCount __typename } " +
+                "... on Human { homePlanet } __typename } }"
+    }
+
+    def "I can include and skip fields with variables"() {
+        given:
+        givenQuery("hero: Character", CHARACTERS)
+
+        when:
+        def result = generator.query()
+                .exclude(fields("friendsConnection"))
+                .include(new GraphQLFieldSelection("friends"), "withFriends")
+                .skip(new GraphQLFieldSelection("name"), "anonymous")
+                .maxDepth(2)
+                .build(null, "hero", [] as Set)
+
+        then:
+        result == 'query Hero($withFriends: Boolean!, $anonymous: Boolean!) { hero { id name @skip(if: $anonymous) ' +
+                'friends @include(if: $withFriends) { id name ... on Human { homePlanet } __typename } ' +
+                '... on Human { homePlanet } __typename } }'
+    }
+
+    def "I can't include a field the query doesn't select"() {
+        given:
+        givenQuery("hero: Character", CHARACTERS)
+
+        when:
+        generator.query()
+                .include(new GraphQLFieldSelection("friends.friends"), "withFriends")
+                .maxDepth(2)
+                .build(null, "hero", [] as Set)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
 }
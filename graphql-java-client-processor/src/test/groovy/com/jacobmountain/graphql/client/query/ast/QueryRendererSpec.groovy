@@ -0,0 +1,100 @@
+package com.jacobmountain.graphql.client.query.ast
+
+import spock.lang.Specification
+
+class QueryRendererSpec extends Specification {
+
+    static SelectionSet selectionSet(Selection... selections) {
+        new SelectionSet(selections as List)
+    }
+
+    static Operation operation = new Operation(
+            "query",
+            "Hero",
+            [new Variable("episode", "Episode"), new Variable("first", "Int!")],
+            selectionSet(
+                    new Field("hero", [new Argument("episode", "episode")], selectionSet(
+                            new Field("id"),
+                            new Field("friends", [new Argument("first", "first")], selectionSet(
+                                    new Field("name"),
+                                    new Field("__typename")
+                            )),
+                            new InlineFragment("Droid", selectionSet(
+                                    new Field("primaryFunction"),
+                                    new Field("__typename")
+                            )),
+                            new Field("__typename")
+                    ))
+            )
+    )
+
+    def "I can render a compact query"() {
+        expect:
+        operation.render(QueryStyle.COMPACT) == 'query Hero($episode: Episode, $first: Int!) { hero(episode: $episode) { id friends(first: $first) { name __typename } ... on Droid { primaryFunction __typename } __typename } }'
+    }
+
+    def "I can render a minified query"() {
+        expect:
+        operation.render(QueryStyle.MINIFIED) == 'query Hero($episode:Episode,$first:Int!){hero(episode:$episode){id friends(first:$first){name __typename}...on Droid{primaryFunction __typename}__typename}}'
+    }
+
+    def "I can render a pretty query"() {
+        expect:
+        operation.render(QueryStyle.PRETTY) == '''\
+            query Hero($episode: Episode, $first: Int!) {
+              hero(episode: $episode) {
+                id
+                friends(first: $first) {
+                  name
+                  __typename
+                }
+                ... on Droid {
+                  primaryFunction
+                  __typename
+                }
+                __typename
+              }
+            }'''.stripIndent()
+    }
+
+    static Operation withFragments = new Operation(
+            "query",
+            "Hero",
+            [],
+            selectionSet(
+                    new Field("hero", [], selectionSet(
+                            new FragmentSpread("CharacterFields")
+                    ))
+            ),
+            [new FragmentDefinition("CharacterFields", "Character", selectionSet(
+                    new Field("id"),
+                    new Field("__typename")
+            ))]
+    )
+
+    def "I can render named fragments"() {
+        expect:
+        withFragments.render(style) == query
+
+        where:
+        style               | query
+        QueryStyle.COMPACT  | 'query Hero { hero { ...CharacterFields } } fragment CharacterFields on Character { id __typename }'
+        QueryStyle.MINIFIED | 'query Hero{hero{...CharacterFields}}fragment CharacterFields on Character{id __typename}'
+        QueryStyle.PRETTY   | 'query Hero {\n  hero {\n    ...CharacterFields\n  }\n}\n\nfragment CharacterFields on Character {\n  id\n  __typename\n}'
+    }
+
+    def "I can render directives"() {
+        given:
+        def operation = new Operation("query", "Hero", [new Variable("withFriends", "Boolean!")], selectionSet(
+                new Field("hero", [], selectionSet(
+                        new Field("friends", [], selectionSet(new Field("name")), [new Directive("include", [new Argument("if", "withFriends")])]),
+                        new Field("name")
+                ))
+        ))
+
+        expect:
+        operation.render(QueryStyle.COMPACT) == 'query Hero($withFriends: Boolean!) { hero { friends @include(if: $withFriends) { name } name } }'
+        operation.render(QueryStyle.MINIFIED) == 'query Hero($withFriends:Boolean!){hero{friends@include(if:$withFriends){name}name}}'
+    }
+
+}
@@ -0,0 +1,91 @@
+package com.jacobmountain.graphql.client.report
+
+import groovy.json.JsonSlurper
+import spock.lang.Specification
+
+class ProcessorReportSpec extends Specification {
+
+    def "Fields are counted at every level of the query, including fragments"() {
+        expect:
+        MethodReport.countFields(query) == fields
+
+        where:
+        query                                                                       | fields
+        "query Hero { hero { id } }"                                                | 2
+        "query Hero { hero { id friends { id name } } }"                            | 5
+        "query Hero { hero { id ... on Droid { primaryFunction __typename } } }"    | 4
+        "query Hero(\$id: String) { hero(id: \$id) { id __typename } }"             | 3
+    }
+
+    def "The report is written as JSON"() {
+        given:
+        def report = new ProcessorReport()
+        def schema = report.schema("Schema.gql")
+        schema.phase("load").add(new Phase(2_500_000, 1024))
+        schema.types.addAndGet(3)
+        def client = report.client("com.example.Client", "Schema.gql")
+        client.phase("methods").add(new Phase(1_000_000, 2048))
+        client.method(MethodReport.of("getHero", "query", "hero", "query Hero { hero { id } }", 2, 10))
+
+        when:
+        def json = new JsonSlurper().parseText(report.toJson())
+
+        then:
+        json.schemas[0].schema == "Schema.gql"
+        json.schemas[0].types == 3
+        json.schemas[0].phases.load.wallTimeMs == 2.5
+        json.schemas[0].phases.load.allocatedBytes == 1024
+        json.clients[0].client == "com.example.Client"
+        json.clients[0].phases.methods.allocatedBytes == 2048
+        json.clients[0].methods[0] == [name: "getHero", operation: "query", field: "hero", queryLength: 26, fields: 2, cost: 2, maxCost: 10]
+    }
+
+    def "Methods are over budget when their cost is over a maxCost"() {
+        expect:
+        MethodReport.of("getHero", "query", "hero", "query Hero { hero { id } }", cost, maxCost).overBudget == overBudget
+
+        where:
+        cost | maxCost | overBudget
+        2    | 0       | false
+        2    | 2       | false
+        3    | 2       | true
+    }
+
+    def "Strings are escaped"() {
+        given:
+        def report = new ProcessorReport()
+        report.schema("C:\\schemas\\\"Schema\".gql")
+
+        when:
+        def json = new JsonSlurper().parseText(report.toJson())
+
+        then:
+        json.schemas[0].schema == "C:\\schemas\\\"Schema\".gql"
+    }
+
+    def "Phases accumulate"() {
+        given:
+        def phase = new Phase()
+
+        when:
+        phase.add(new Phase(1_000_000, 10))
+        phase.add(new Phase(2_000_000, 20))
+
+        then:
+        phase.wallMillis == 3
+        phase.allocatedBytes == 30
+        phase.minus(new Phase(5_000_000, 5)).wallNanos == 0
+    }
+
+    def "The summary fits on one line"() {
+        given:
+        def report = new ProcessorReport()
+        report.schema("Schema.gql").types.addAndGet(12)
+        report.client("com.example.Client", "Schema.gql").method(MethodReport.of("getHero", "query", "hero", "query Hero { hero { id } }"))
+
+        expect:
+        report.summary().startsWith("graphql-java-client generated 12 types from 1 schema(s) and 1 client(s) with 1 method(s) in ")
+        !report.summary().contains("\n")
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.jacobmountain.graphql.client.utils
+
+import com.jacobmountain.graphql.client.GraphQLClientProcessor
+
+import javax.tools.Diagnostic
+import javax.tools.DiagnosticCollector
+import javax.tools.JavaFileObject
+import javax.tools.ToolProvider
+import java.nio.charset.StandardCharsets
+
+/**
+ * Runs the processor over a client with an in-process compiler, the generated sources aren't compiled
+ */
+class ClientCompilation {
+
+    // the processor resolves the schema against the parent of the build directory
+    final File root = File.createTempDir()
+
+    ClientCompilation(String schema) {
+        new File(root, "build/classes/java/main").mkdirs()
+        new File(root, "build/generated").mkdirs()
+        new File(root, "Schema.gql").text = schema
+    }
+
+    /**
+     * @param methods the body of the client
+     * @return the errors reported by the compiler
+     */
+    List<Diagnostic<? extends JavaFileObject>> process(String methods) {
+        def source = new File(root, "Client.java")
+        source.text = """
+            package com.example;
+
+            import com.jacobmountain.graphql.client.annotations.*;
+            import java.util.*;
+
+            @GraphQLClient(schema = "Schema.gql", dtoPackage = "dto")
+            public interface Client {
+                ${methods}
+            }
+        """
+        def compiler = ToolProvider.getSystemJavaCompiler()
+        def diagnostics = new DiagnosticCollector<JavaFileObject>()
+        def files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)
+        try {
+            def options = [
+                    "-proc:only",
+                    "-processor", GraphQLClientProcessor.name,
+                    "-classpath", System.getProperty("java.class.path"),
+                    "-d", new File(root, "build/classes/java/main").path,
+                    "-s", new File(root, "build/generated").path
+            ]
+            compiler.getTask(null, files, diagnostics, options, null, files.getJavaFileObjects(source)).call()
+        } finally {
+            files.close()
+        }
+        diagnostics.diagnostics.findAll { it.kind == Diagnostic.Kind.ERROR }
+    }
+
+    /**
+     * @param overload the index of the overload of the method, in the order they're declared
+     * @return the line of the client declaring the method
+     */
+    long lineOf(String method, int overload = 0) {
+        new File(root, "Client.java").readLines().findIndexValues { it.contains(" ${method}(") }[overload] + 1
+    }
+
+    void delete() {
+        root.deleteDir()
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.jacobmountain.graphql.client.utils
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.file.Files
+
+class SchemaCacheSpec extends Specification {
+
+    @Subject
+    SchemaCache cache = new SchemaCache()
+
+    static File givenSchema(String query) {
+        def file = Files.createTempFile("schema", ".gql").toFile()
+        file.deleteOnExit()
+        writeSchema(file, query)
+        file
+    }
+
+    static void writeSchema(File file, String query) {
+        file.text = """
+        schema {
+            query: Query
+        }
+        type Query {
+            $query
+        }
+        """
+    }
+
+    def "The same schema file is only parsed once"() {
+        given:
+        def file = givenSchema("hero: String")
+
+        when:
+        def first = cache.get(file)
+        def second = cache.get(file)
+
+        then:
+        first.is(second)
+        cache.size() == 1
+    }
+
+    def "A schema is parsed again when its contents change"() {
+        given:
+        def file = givenSchema("hero: String")
+        def first = cache.get(file)
+
+        when:
+        writeSchema(file, "villain: String")
+        def second = cache.get(file)
+
+        then:
+        !first.is(second)
+        second.findField("villain").isPresent()
+        !second.findField("hero").isPresent()
+    }
+
+    def "Parsed schemas are stored as snapshots, and reused by later caches"() {
+        given:
+        def snapshots = Files.createTempDirectory("snapshots")
+        def file = givenSchema("hero: String")
+
+        when:
+        def first = new SchemaCache(snapshots).get(file)
+
+        then:
+        Files.list(snapshots).count() == 1
+
+        when: "the snapshot is modified, so we can tell it was read instead of the schema file"
+        def snapshot = Files.list(snapshots).findFirst().get()
+        def modified = new ByteArrayOutputStream()
+        SchemaSnapshot.write(new Schema("schema { query: Query } type Query { villain: String }"), new DataOutputStream(modified))
+        snapshot.bytes = modified.toByteArray()
+        def second = new SchemaCache(snapshots).get(file)
+
+        then:
+        first.findField("hero").isPresent()
+        second.findField("villain").isPresent()
+    }
+
+    def "Unreadable snapshots are ignored"() {
+        given:
+        def snapshots = Files.createTempDirectory("snapshots")
+        def file = givenSchema("hero: String")
+        new SchemaCache(snapshots).get(file)
+        Files.list(snapshots).findFirst().get().text = "corrupt"
+
+        when:
+        def schema = new SchemaCache(snapshots).get(file)
+
+        then:
+        schema.findField("hero").isPresent()
+    }
+
+    def "Different schema files are cached separately"() {
+        when:
+        def first = cache.get(givenSchema("hero: String"))
+        def second = cache.get(givenSchema("hero: String"))
+
+        then:
+        !first.is(second)
+        cache.size() == 2
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.jacobmountain.graphql.client.utils
+
+import com.jacobmountain.ResourceUtils
+import graphql.language.AstPrinter
+import spock.lang.Specification
+
+class SchemaSnapshotSpec extends Specification {
+
+    static Schema roundTrip(Schema schema) {
+        def bytes = new ByteArrayOutputStream()
+        SchemaSnapshot.write(schema, new DataOutputStream(bytes))
+        SchemaSnapshot.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+    }
+
+    static Map<String, String> print(Schema schema) {
+        schema.types().collectEntries { name, type -> [(name): AstPrinter.printAst(type)] }
+    }
+
+    def "A snapshot contains every type of the schema"() {
+        given:
+        def schema = new Schema(ResourceUtils.readResource("Schema.gql"))
+
+        when:
+        def snapshot = roundTrip(schema)
+
+        then:
+        print(snapshot) == print(schema)
+        snapshot.types().keySet() as List == schema.types().keySet() as List
+        snapshot.query.name == "Query"
+        snapshot.mutation.name == "Mutation"
+        snapshot.subscription == null
+    }
+
+    def "A snapshot keeps arguments, default values, custom scalars and interface hierarchies"() {
+        given:
+        def schema = new Schema("""
+        schema {
+            query: Query
+            subscription: Subscription
+        }
+        scalar DateTime
+        type Query {
+            search(first: Int = 10, after: String, order: Order = ASC, filter: Filter = { tags: ["a", "b"], since: null }, ratio: Float = 1.5, exact: Boolean = true): [Result!]!
+        }
+        type Subscription {
+            updated: Node
+        }
+        enum Order { ASC DESC }
+        input Filter {
+            tags: [String!]
+            since: DateTime
+        }
+        interface Node {
+            id: ID!
+        }
+        interface Named implements Node {
+            id: ID!
+            name: String
+        }
+        type Thing implements Named & Node {
+            id: ID!
+            name: String
+            created: DateTime
+        }
+        union Result = Thing
+        """)
+
+        when:
+        def snapshot = roundTrip(schema)
+
+        then:
+        print(snapshot) == print(schema)
+        snapshot.scalars().containsKey("DateTime")
+        snapshot.subscription.name == "Subscription"
+    }
+
+    def "Reading something other than a snapshot fails"() {
+        when:
+        SchemaSnapshot.read(new DataInputStream(new ByteArrayInputStream("schema { query: Query }".bytes)))
+
+        then:
+        thrown(IOException)
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.jacobmountain.graphql.client.utils
+
+import spock.lang.Specification
+
+import static java.util.stream.Collectors.toList
+
+class SchemaSpec extends Specification {
+
+    static Schema SCHEMA = new Schema("""
+        schema {
+            query: Query
+            mutation: Mutation
+            subscription: Subscription
+        }
+        type Query {
+            hero: Character
+            shared: String
+        }
+        type Mutation {
+            shared: Int
+            rename(name: String!): Character
+        }
+        type Subscription {
+            watch: Character
+        }
+        interface Character {
+            id: ID!
+            name: String
+        }
+        type Human implements Character {
+            id: ID!
+            name: String
+            height: Float
+        }
+        type Droid implements Character {
+            id: ID!
+            name: String
+            primaryFunction: String
+        }
+        union Search = Human | Droid
+        """)
+
+    def "Root fields are found on the query, mutation and subscription types"() {
+        expect:
+        SCHEMA.findField(field).map { it.type.toString() }.orElse(null)?.contains(type)
+
+        where:
+        field    | type
+        "hero"   | "Character"
+        "rename" | "Character"
+        "watch"  | "Character"
+        "shared" | "String" // the query type takes precedence
+    }
+
+    def "The root type of each operation is found"() {
+        expect:
+        SCHEMA.getOperationTypeName(operation) == type
+        new Schema("schema { query: Query } type Query { hero: String }").getOperationTypeName(operation) == only
+
+        where:
+        operation      | type           | only
+        "query"        | "Query"        | "Query"
+        "mutation"     | "Mutation"     | null
+        "subscription" | "Subscription" | null
+    }
+
+    def "Unknown root fields are not found"() {
+        expect:
+        !SCHEMA.findField("missing").isPresent()
+    }
+
+    def "Fields are found on object and interface types"() {
+        expect:
+        SCHEMA.findField(SCHEMA.getTypeDefinition("Human").get(), "height").isPresent()
+        !SCHEMA.findField(SCHEMA.getTypeDefinition("Human").get(), "primaryFunction").isPresent()
+        SCHEMA.findField(SCHEMA.getTypeDefinition("Character").get(), "name").isPresent()
+    }
+
+    def "The children of a type are its fields in declaration order"() {
+        expect:
+        SCHEMA.getChildren(SCHEMA.getTypeDefinition("Droid").get())
+                .map { it.name }
+                .collect(toList()) == ["id", "name", "primaryFunction"]
+    }
+
+    def "We can find the types implementing an interface"() {
+        expect:
+        SCHEMA.getTypesImplementing(SCHEMA.getTypeDefinition("Character").get()).collect(toList()) == ["Human", "Droid"]
+        SCHEMA.getTypesImplementing(SCHEMA.getTypeDefinition("Human").get()).collect(toList()) == []
+    }
+
+    def "The possible types of a union are its members"() {
+        expect:
+        SCHEMA.getPossibleTypes("Search") == ["Human", "Droid"]
+        SCHEMA.getPossibleTypes("Human") == []
+    }
+
+}
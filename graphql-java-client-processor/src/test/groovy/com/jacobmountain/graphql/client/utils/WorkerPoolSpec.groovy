@@ -0,0 +1,82 @@
+package com.jacobmountain.graphql.client.utils
+
+import com.jacobmountain.graphql.client.report.Stopwatch
+import spock.lang.Specification
+
+class WorkerPoolSpec extends Specification {
+
+    def "Results are in the same order as the items"() {
+        given:
+        def pool = new WorkerPool(4)
+        def items = (1..1000).toList()
+
+        when:
+        def result = pool.map(items, { it * 2 })
+
+        then:
+        result == items.collect { it * 2 }
+
+        cleanup:
+        pool.close()
+    }
+
+    def "Work is spread across the pool"() {
+        given:
+        def pool = new WorkerPool(4)
+
+        when:
+        def threads = pool.map((1..200).toList(), {
+            Thread.sleep(1)
+            Thread.currentThread()
+        }) as Set
+
+        then:
+        threads.size() > 1
+
+        cleanup:
+        pool.close()
+    }
+
+    def "Nested work runs in the same pool"() {
+        given:
+        def pool = new WorkerPool(2)
+
+        when:
+        def result = pool.map((1..10).toList(), { outer ->
+            pool.map((1..10).toList(), { inner -> outer * inner }).sum()
+        })
+
+        then:
+        result == (1..10).collect { it * 55 }
+
+        cleanup:
+        pool.close()
+    }
+
+    def "A sequential pool runs on the calling thread"() {
+        when:
+        def threads = WorkerPool.SEQUENTIAL.map((1..10).toList(), { Thread.currentThread() }) as Set
+
+        then:
+        threads == [Thread.currentThread()] as Set
+    }
+
+    def "Only the allocation of the pool's tasks is measured, not that of other threads"() {
+        given:
+        def pool = new WorkerPool(4)
+        def stopwatch = Stopwatch.withWorkers(pool)
+
+        when:
+        pool.map((1..100).toList(), { new byte[100_000].length })
+        Thread.start { 100.times { new byte[1_000_000] } }.join()
+        def phase = stopwatch.stop()
+
+        then:
+        phase.allocatedBytes >= 100 * 100_000
+        phase.allocatedBytes < 100 * 1_000_000
+
+        cleanup:
+        pool.close()
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.jacobmountain.graphql.client.visitor
+
+import com.jacobmountain.graphql.client.utils.ClientCompilation
+import spock.lang.Specification
+
+class ProjectionSpec extends Specification {
+
+    ClientCompilation compilation = new ClientCompilation("""
+        schema {
+            query: Query
+        }
+        type Query {
+            hero: Hero
+            heroes: [Hero]
+            name: String
+        }
+        type Hero {
+            id: Int
+            name: String
+            friends: [Hero]
+        }
+    """)
+
+    def cleanup() {
+        compilation.delete()
+    }
+
+    def "A method can return a projection of the DTO"() {
+        when:
+        def errors = compilation.process("""
+            interface HeroName {
+                String getName();
+                List<FriendName> getFriends();
+            }
+
+            interface FriendName {
+                String getName();
+            }
+
+            @GraphQLQuery("hero")
+            HeroName getHero();
+        """)
+
+        then:
+        errors.isEmpty()
+    }
+
+    def "The interfaces of the JDK aren't projections"() {
+        when:
+        def errors = compilation.process("""
+            @GraphQLQuery("heroes")
+            Collection<com.example.dto.Hero> getHeroes();
+        """)
+
+        then:
+        errors.isEmpty()
+    }
+
+    def "An accessor must match a field of the type"() {
+        when:
+        def errors = compilation.process("""
+            interface HeroName {
+                String getTitle();
+            }
+
+            @GraphQLQuery("hero")
+            HeroName getHero();
+        """)
+
+        then:
+        errors.size() == 1
+        errors[0].getMessage(null) == "HeroName.getTitle() doesn't match a field of Hero"
+        errors[0].lineNumber == compilation.lineOf("getHero")
+    }
+
+    def "An accessor must return the type of its field"() {
+        when:
+        def errors = compilation.process("""
+            interface HeroName {
+                Long getId();
+            }
+
+            @GraphQLQuery("hero")
+            HeroName getHero();
+        """)
+
+        then:
+        errors.size() == 1
+        errors[0].getMessage(null) == "HeroName.getId() returns java.lang.Long, but Hero.id is a java.lang.Integer"
+        errors[0].lineNumber == compilation.lineOf("getHero")
+    }
+
+    def "An accessor of projections of a list field must return a List"() {
+        when:
+        def errors = compilation.process("""
+            interface HeroName {
+                FriendName getFriends();
+            }
+
+            interface FriendName {
+                String getName();
+            }
+
+            @GraphQLQuery("hero")
+            HeroName getHero();
+        """)
+
+        then:
+        errors.size() == 1
+        errors[0].getMessage(null) == "HeroName.getFriends() should return a List, like Hero.friends"
+        errors[0].lineNumber == compilation.lineOf("getHero")
+    }
+
+    def "A scalar field can't be projected"() {
+        when:
+        def errors = compilation.process("""
+            interface Name {
+                String getValue();
+            }
+
+            @GraphQLQuery("name")
+            Name getName();
+        """)
+
+        then:
+        errors.size() == 1
+        errors[0].getMessage(null) == "Name can't be a projection of String, which has no fields"
+        errors[0].lineNumber == compilation.lineOf("getName")
+    }
+
+    def "Every invalid projection of a client is reported on its own method"() {
+        when:
+        def errors = compilation.process("""
+            interface HeroName {
+                String getTitle();
+            }
+
+            @GraphQLQuery("hero")
+            HeroName getHero();
+
+            @GraphQLQuery("heroes")
+            List<HeroName> getHeroes();
+        """)
+
+        then:
+        errors*.lineNumber == [compilation.lineOf("getHero"), compilation.lineOf("getHeroes")]
+    }
+
+}
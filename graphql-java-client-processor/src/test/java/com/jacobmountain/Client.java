@@ -4,6 +4,7 @@ package com.jacobmountain;
 import com.jacobmountain.dto.Droid;
 import com.jacobmountain.dto.Human;
 import com.jacobmountain.graphql.client.annotations.GraphQLClient;
+import com.jacobmountain.graphql.client.annotations.GraphQLInclude;
 import com.jacobmountain.graphql.client.annotations.GraphQLQuery;
 
 import java.util.List;
@@ -25,4 +26,27 @@ public interface Client {
         @GraphQLQuery("humans")
         List<Human> getHumans();
 
+        @GraphQLQuery("hero")
+        HeroSummary getHeroSummary();
+
+        @GraphQLQuery(value = "hero", name = "HeroWithFriends")
+        com.jacobmountain.dto.Character getHero(@GraphQLInclude("friends") boolean withFriends);
+
+        @GraphQLQuery("humans")
+        List<HeroSummary> getHumanSummaries();
+
+        interface HeroSummary {
+
+                String getName();
+
+                List<FriendName> getFriends();
+
+        }
+
+        interface FriendName {
+
+                String getName();
+
+        }
+
 }